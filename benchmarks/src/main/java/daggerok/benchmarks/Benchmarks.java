@@ -0,0 +1,29 @@
+package daggerok.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs benchmarks with GC profiler (allocation rate per operation) and writes machine readable JSON results.
+ *
+ * Accepts regular JMH command line options, for example:
+ *
+ *   java -jar target/benchmarks.jar LookupBenchmark -rff target/lookup.json
+ */
+public class Benchmarks {
+
+  public static void main(final String[] args) throws Exception {
+    final CommandLineOptions commandLine = new CommandLineOptions(args);
+    final ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+
+    if (commandLine.getProfilers().isEmpty()) options.addProfiler(GCProfiler.class);
+    if (!commandLine.getResultFormat().hasValue()) options.resultFormat(ResultFormatType.JSON);
+    if (!commandLine.getResult().hasValue()) options.result("target/jmh-result.json");
+
+    new Runner(options.build()).run();
+  }
+}
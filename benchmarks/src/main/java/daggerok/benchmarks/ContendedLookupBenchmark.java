@@ -0,0 +1,9 @@
+package daggerok.benchmarks;
+
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * {@link LookupBenchmark} under contention: all available processors are looking up beans concurrently.
+ */
+@Threads(Threads.MAX)
+public class ContendedLookupBenchmark extends LookupBenchmark {}
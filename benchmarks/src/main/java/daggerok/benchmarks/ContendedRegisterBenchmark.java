@@ -0,0 +1,9 @@
+package daggerok.benchmarks;
+
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * {@link RegisterBenchmark} under contention: all available processors are registering beans concurrently.
+ */
+@Threads(Threads.MAX)
+public class ContendedRegisterBenchmark extends RegisterBenchmark {}
@@ -0,0 +1,44 @@
+package daggerok.benchmarks;
+
+import daggerok.benchmarks.app.Facade;
+import daggerok.context.DaggerokContext;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Beans creation: full context initialization (scan, resolution and construction) of small application.
+ *
+ * - initialize: scan cache is disabled, so every context scans classpath and resolves dependencies by itself
+ * - initializeCached: every next context replays cached scan results and resolved plan, only beans are constructed
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class CreationBenchmark {
+
+  @Benchmark
+  public Object initialize() {
+    return DaggerokContext.create(Facade.class).withScanCache(false).initialize().getBean(Facade.class);
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public Object initializeContended() {
+    return DaggerokContext.create(Facade.class).withScanCache(false).initialize().getBean(Facade.class);
+  }
+
+  @Benchmark
+  public Object initializeCached() {
+    return DaggerokContext.create(Facade.class).initialize().getBean(Facade.class);
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public Object initializeCachedContended() {
+    return DaggerokContext.create(Facade.class).initialize().getBean(Facade.class);
+  }
+}
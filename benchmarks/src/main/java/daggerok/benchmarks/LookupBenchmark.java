@@ -0,0 +1,60 @@
+package daggerok.benchmarks;
+
+import daggerok.benchmarks.app.Facade;
+import daggerok.benchmarks.app.Service;
+import daggerok.context.DaggerokContext;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean lookup hot paths: getBean(Class), getBean(String), getBean(String, Class) and lookup miss.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@Threads(1)
+public class LookupBenchmark {
+
+  @Param({ "false", "true" })
+  public boolean metrics;
+
+  private DaggerokContext context;
+  private final String serviceName = Service.class.getName();
+
+  @Setup
+  public void setUp() {
+    context = DaggerokContext.create(Facade.class)
+                             .withMetrics(metrics)
+                             .initialize();
+    if (null == context.getBean(Facade.class)) throw new IllegalStateException("context wasn't initialized.");
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public Object getBeanByClass() {
+    return context.getBean(Service.class);
+  }
+
+  @Benchmark
+  public Object getBeanByName() {
+    return context.getBean(serviceName);
+  }
+
+  @Benchmark
+  public Object getBeanByNameAndType() {
+    return context.getBean(serviceName, Service.class);
+  }
+
+  @Benchmark
+  public Object getBeanMiss() {
+    return context.getBean(LookupBenchmark.class);
+  }
+}
@@ -0,0 +1,49 @@
+package daggerok.benchmarks;
+
+import daggerok.context.DaggerokContext;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Manual registration: register(String, Object) and register(Class, Object) replacing existing beans.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@Threads(1)
+public class RegisterBenchmark {
+
+  private static final int NAMES = 1024;
+
+  private final String[] names = new String[NAMES];
+  private final Object bean = new Object();
+  private DaggerokContext context;
+
+  @State(Scope.Thread)
+  public static class Counter {
+    int next = 0;
+  }
+
+  @Setup
+  public void setUp() {
+    context = DaggerokContext.create();
+    for (int i = 0; i < NAMES; i++) {
+      names[i] = "bean" + i;
+      context.register(names[i], bean);
+    }
+  }
+
+  @Benchmark
+  public DaggerokContext registerByName(final Counter counter) {
+    return context.register(names[counter.next++ & (NAMES - 1)], bean);
+  }
+
+  @Benchmark
+  public DaggerokContext registerByClass() {
+    return context.register(Object.class, bean);
+  }
+}
@@ -0,0 +1,100 @@
+package daggerok.benchmarks;
+
+import daggerok.benchmarks.synthetic.SyntheticApp;
+import daggerok.context.DaggerokContext;
+import org.openjdk.jmh.annotations.*;
+
+import java.net.URLClassLoader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Context initialization of generated synthetic applications.
+ *
+ * - cold: every iteration uses new class loader, so classes are loaded and scanned from scratch
+ * - warm: same classes are scanned and initialized again and again, scan cache is disabled
+ * - warmCached: same classes are initialized again and again by replaying cached scan results and resolved plan
+ *
+ * Parameters could be overridden from command line, for example: -p beans=5000 -p depth=50
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+public class StartupBenchmark {
+
+  @Param({ "100", "1000", "10000" })
+  public int beans;
+
+  @Param({ "10" })
+  public int depth;
+
+  @Param({ "3" })
+  public int fanOut;
+
+  @Param({ "0" })
+  public int fanIn;
+
+  @Param({ "50" })
+  public int singletonPercent;
+
+  @Param({ "1", "10" })
+  public int packages;
+
+  private SyntheticApp app;
+  private URLClassLoader classLoader;
+
+  @Setup(Level.Trial)
+  public void generate() throws Exception {
+    app = new SyntheticApp(beans, depth, fanOut, fanIn, singletonPercent, packages);
+    classLoader = app.newClassLoader();
+    final int created = initialize(false).size() - 1; // context itself
+    if (created < beans) System.err.printf("WARNING: only %d beans of %d were created.%n", created, beans);
+  }
+
+  @Setup(Level.Iteration)
+  public void newClassLoader() throws Exception {
+    classLoader.close();
+    classLoader = app.newClassLoader();
+  }
+
+  @TearDown(Level.Trial)
+  public void cleanup() throws Exception {
+    classLoader.close();
+    app.close();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @Warmup(iterations = 0)
+  @Measurement(iterations = 10)
+  public DaggerokContext cold() {
+    return initialize(false);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @Warmup(iterations = 3, time = 2)
+  @Measurement(iterations = 5, time = 2)
+  public DaggerokContext warm() {
+    return initialize(false);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @Warmup(iterations = 3, time = 2)
+  @Measurement(iterations = 5, time = 2)
+  public DaggerokContext warmCached() {
+    return initialize(true);
+  }
+
+  private DaggerokContext initialize(final boolean scanCache) {
+    final Thread thread = Thread.currentThread();
+    final ClassLoader previous = thread.getContextClassLoader();
+    thread.setContextClassLoader(classLoader); // used by reflections scan
+    try {
+      return DaggerokContext.create(app.basePackages()).withScanCache(scanCache).initialize();
+    }
+    finally {
+      thread.setContextClassLoader(previous);
+    }
+  }
+}
@@ -0,0 +1,18 @@
+package daggerok.benchmarks.app;
+
+import javax.inject.Inject;
+import java.util.HashMap;
+
+public class Client {
+
+  private final HashMap<String, Object> config;
+
+  @Inject
+  public Client(final HashMap<String, Object> config) {
+    this.config = config;
+  }
+
+  public int call() {
+    return config.size();
+  }
+}
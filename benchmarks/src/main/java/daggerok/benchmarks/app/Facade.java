@@ -0,0 +1,19 @@
+package daggerok.benchmarks.app;
+
+import javax.inject.Inject;
+
+public class Facade {
+
+  private final Service service;
+  private final Repository repository;
+
+  @Inject
+  public Facade(final Service service, final Repository repository) {
+    this.service = service;
+    this.repository = repository;
+  }
+
+  public String logic() {
+    return service.logic() + repository.find();
+  }
+}
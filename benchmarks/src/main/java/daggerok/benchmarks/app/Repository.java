@@ -0,0 +1,10 @@
+package daggerok.benchmarks.app;
+
+import javax.inject.Singleton;
+
+@Singleton
+public class Repository {
+  public String find() {
+    return "repository";
+  }
+}
@@ -0,0 +1,19 @@
+package daggerok.benchmarks.app;
+
+import javax.inject.Inject;
+
+public class Service {
+
+  private final Client client;
+  private final Repository repository;
+
+  @Inject
+  public Service(final Client client, final Repository repository) {
+    this.client = client;
+    this.repository = repository;
+  }
+
+  public String logic() {
+    return repository.find() + client.call();
+  }
+}
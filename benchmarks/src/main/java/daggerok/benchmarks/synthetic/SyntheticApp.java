@@ -0,0 +1,178 @@
+package daggerok.benchmarks.synthetic;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Generates, compiles and loads synthetic application.
+ *
+ * Beans are distributed across {@code depth} layers: first layer beans have no-arg constructors, every bean of next
+ * layers depends on {@code fanOut} beans of lower layers (at least one of them from previous layer, so dependency
+ * chain is exactly {@code depth} beans long). Each bean can be injected in no more than {@code fanIn} other beans
+ * (0 means unlimited). Each bean is annotated with @Singleton with probability of {@code singletonPercent}, otherwise
+ * only it's constructor is annotated with @Inject. Beans are spread over {@code packages} base packages.
+ */
+public class SyntheticApp implements AutoCloseable {
+
+  private final int beans;
+  private final int depth;
+  private final int fanOut;
+  private final int fanIn;
+  private final int singletonPercent;
+  private final int packages;
+  private final Path directory;
+
+  private final List<String> classNames = new ArrayList<>();
+  private final List<String> basePackages = new ArrayList<>();
+
+  public SyntheticApp(final int beans, final int depth, final int fanOut, final int fanIn,
+                      final int singletonPercent, final int packages) throws IOException {
+
+    if (beans < 1 || depth < 1 || depth > beans || fanOut < 1 || fanIn < 0 || packages < 1)
+      throw new IllegalArgumentException("invalid synthetic application parameters.");
+
+    this.beans = beans;
+    this.depth = depth;
+    this.fanOut = fanOut;
+    this.fanIn = fanIn;
+    this.singletonPercent = singletonPercent;
+    this.packages = Math.min(packages, beans);
+    this.directory = Files.createTempDirectory("daggerok-synthetic-");
+
+    generate();
+    compile();
+  }
+
+  /**
+   * @return base package names to be scanned.
+   */
+  public String[] basePackages() {
+    return basePackages.toArray(new String[0]);
+  }
+
+  /**
+   * @return fully qualified names of all generated beans.
+   */
+  public List<String> classNames() {
+    return classNames;
+  }
+
+  /**
+   * @return new class loader, so every generated class will be loaded from scratch.
+   */
+  public URLClassLoader newClassLoader() throws IOException {
+    return new URLClassLoader(new URL[] { directory.resolve("classes").toUri().toURL() },
+                              SyntheticApp.class.getClassLoader());
+  }
+
+  @Override
+  public void close() throws IOException {
+    try (Stream<Path> paths = Files.walk(directory)) {
+      paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+    }
+  }
+
+  /* private API */
+
+  private void generate() throws IOException {
+    final Random random = new Random(beans * 31L + depth);
+    final int[] layerOf = new int[beans];
+    final int[] layerStart = new int[depth + 1];
+    final int[] dependents = new int[beans];
+
+    for (int layer = 0; layer <= depth; layer++) {
+      layerStart[layer] = (int) ((long) beans * layer / depth);
+    }
+    for (int layer = 0; layer < depth; layer++) {
+      for (int i = layerStart[layer]; i < layerStart[layer + 1]; i++) layerOf[i] = layer;
+    }
+    for (int p = 0; p < packages; p++) {
+      basePackages.add(packageName(p));
+    }
+
+    for (int i = 0; i < beans; i++) {
+      final List<Integer> dependencies = new ArrayList<>();
+      final int layer = layerOf[i];
+      if (layer > 0) {
+        pick(dependencies, dependents, layerStart[layer - 1], layerStart[layer], random); // previous layer
+        for (int attempt = 0; dependencies.size() < fanOut && attempt < 4 * fanOut; attempt++) {
+          pick(dependencies, dependents, 0, layerStart[layer], random);
+        }
+      }
+      write(i, dependencies, random.nextInt(100) < singletonPercent);
+    }
+  }
+
+  private void pick(final List<Integer> dependencies, final int[] dependents,
+                    final int from, final int to, final Random random) {
+    for (int attempt = 0; attempt < 8; attempt++) {
+      final int candidate = from + random.nextInt(to - from);
+      if (dependencies.contains(candidate) || (fanIn > 0 && dependents[candidate] >= fanIn)) continue;
+      dependents[candidate]++;
+      dependencies.add(candidate);
+      return;
+    }
+  }
+
+  private void write(final int index, final List<Integer> dependencies, final boolean singleton) throws IOException {
+    final String packageName = packageName(index % packages);
+    final String simpleName = "Bean" + index;
+    final StringBuilder source = new StringBuilder("package ").append(packageName).append(";\n\n");
+
+    if (singleton || dependencies.isEmpty()) source.append(singleton ? "@javax.inject.Singleton\n" : "");
+    source.append("public class ").append(simpleName).append(" {\n");
+
+    if (!dependencies.isEmpty() || !singleton) {
+      source.append("  @javax.inject.Inject\n  public ").append(simpleName).append("(");
+      for (int d = 0; d < dependencies.size(); d++) {
+        final int dependency = dependencies.get(d);
+        if (d > 0) source.append(", ");
+        source.append(packageName(dependency % packages)).append(".Bean").append(dependency).append(" d").append(d);
+      }
+      source.append(") {}\n");
+    }
+    source.append("}\n");
+
+    final Path file = directory.resolve("src").resolve(packageName.replace('.', File.separatorChar))
+                               .resolve(simpleName + ".java");
+    Files.createDirectories(file.getParent());
+    Files.write(file, source.toString().getBytes(StandardCharsets.UTF_8));
+    classNames.add(packageName + "." + simpleName);
+  }
+
+  private void compile() throws IOException {
+    final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    if (null == compiler) throw new IllegalStateException("java compiler is not available, JDK is required.");
+
+    final Path classes = Files.createDirectories(directory.resolve("classes"));
+    final List<String> arguments = new ArrayList<>();
+    arguments.add("-nowarn");
+    arguments.add("-proc:none");
+    arguments.add("-cp");
+    arguments.add(System.getProperty("java.class.path"));
+    arguments.add("-d");
+    arguments.add(classes.toString());
+    try (Stream<Path> paths = Files.walk(directory.resolve("src"))) {
+      paths.filter(path -> path.toString().endsWith(".java")).forEach(path -> arguments.add(path.toString()));
+    }
+
+    if (0 != compiler.run(null, null, null, arguments.toArray(new String[0])))
+      throw new IllegalStateException("synthetic application compilation failed: " + directory);
+  }
+
+  private static String packageName(final int index) {
+    return String.format("synthetic.p%04d", index); // fixed width: base package is also a prefix filter
+  }
+}
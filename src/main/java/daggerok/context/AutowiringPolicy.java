@@ -0,0 +1,62 @@
+package daggerok.context;
+
+import java.util.TreeSet;
+
+import static daggerok.context.Requires.requireNonNull;
+
+/**
+ * Which constructor parameter types, not scanned as components and not registered manually, context may create
+ * implicitly using their public no-arg constructor. See {@link DaggerokContext#withAutowiring(AutowiringPolicy)}.
+ *
+ * - {@link #PERMISSIVE}: any type with public no-arg constructor (like java.util.HashMap) is created
+ * - {@link #STRICT}: nothing is created implicitly, only scanned and registered beans are injected
+ * - {@link #packages(String...)}: only types from given packages (including sub-packages) are created
+ */
+public class AutowiringPolicy {
+
+  public static final AutowiringPolicy PERMISSIVE = new AutowiringPolicy("permissive", null);
+  public static final AutowiringPolicy STRICT = new AutowiringPolicy("strict", new String[0]);
+
+  private final String name;
+  private final String[] packageNames;
+
+  private AutowiringPolicy(final String name, final String[] packageNames) {
+    this.name = name;
+    this.packageNames = packageNames;
+  }
+
+  /**
+   * @param packageNames allowed package names.
+   * @return policy, which allows to create implicitly only types from given packages and their sub-packages.
+   */
+  public static AutowiringPolicy packages(final String... packageNames) {
+    requireNonNull(packageNames, "package names");
+    final TreeSet<String> allowed = new TreeSet<String>();
+    for (final String packageName : packageNames) {
+      requireNonNull(packageName, "package name");
+      allowed.add(packageName);
+    }
+    return new AutowiringPolicy("packages" + allowed, allowed.toArray(new String[allowed.size()]));
+  }
+
+  /**
+   * @param type not registered parameter type.
+   * @return true if bean of given type may be created implicitly.
+   */
+  boolean allows(final Class<?> type) {
+    if (null == packageNames) return true;
+    final String typeName = type.getName();
+    for (final String packageName : packageNames) {
+      if ("".equals(packageName) || typeName.startsWith(packageName + ".")) return true;
+    }
+    return false;
+  }
+
+  /**
+   * @return policy name, part of wiring plan fingerprint.
+   */
+  @Override
+  public String toString() {
+    return name;
+  }
+}
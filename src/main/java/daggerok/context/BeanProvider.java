@@ -0,0 +1,27 @@
+package daggerok.context;
+
+import javax.inject.Provider;
+
+/**
+ * Injected javax.inject.Provider: every get() is a context lookup, so provider never keeps bean itself and evicted
+ * @{@link Evictable} beans are rebuilt on demand.
+ */
+class BeanProvider implements Provider<Object> {
+
+  private final DaggerokContext context;
+  private final String name;
+
+  BeanProvider(final DaggerokContext context, final String name) {
+    this.context = context;
+    this.name = name;
+  }
+
+  public Object get() {
+    return context.getBean(name);
+  }
+
+  @Override
+  public String toString() {
+    return "Provider<" + name + ">";
+  }
+}
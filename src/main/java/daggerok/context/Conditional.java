@@ -0,0 +1,51 @@
+package daggerok.context;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks component, which must be created only if all given conditions are matched. Conditions are evaluated before
+ * bean class initialization or constructor call, so disabled beans cost nothing at startup.
+ *
+ *   &#64;Singleton
+ *   &#64;Conditional(property = "metrics.enabled", havingValue = "true", onClasses = "io.prometheus.client.Counter")
+ *   public class MetricsExporter { ... }
+ *
+ * Bean conditions are evaluated against beans registered manually, provided by parent context or created by
+ * initialization: conditional beans are created after all other scanned beans. Conditional types are never created
+ * implicitly as parameters of other beans, only by scan.
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Conditional {
+
+  /**
+   * @return system property name, or environment variable name if there is no such system property, which value is
+   *         required. Empty means no property condition.
+   */
+  String property() default "";
+
+  /**
+   * @return required property value. Empty means any value, except "false".
+   */
+  String havingValue() default "";
+
+  /**
+   * @return class names, which must be present in class path.
+   */
+  String[] onClasses() default {};
+
+  /**
+   * @return bean types, which must be present in context.
+   */
+  Class<?>[] onBeans() default {};
+
+  /**
+   * @return bean types, which must not be present in context.
+   */
+  Class<?>[] onMissingBeans() default {};
+}
@@ -0,0 +1,107 @@
+package daggerok.context;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Set;
+
+/**
+ * Evaluation of @{@link Conditional} and @{@link Profile} components.
+ */
+class Conditions {
+
+  private static final Logger log = LoggerFactory.getLogger(Conditions.class);
+
+  private Conditions() {}
+
+  /**
+   * @param type component type.
+   * @param activeProfiles active profiles.
+   * @return true if component isn't @{@link Profile} annotated or any of it's profiles is matched.
+   */
+  static boolean profiles(final Class<?> type, final Set<String> activeProfiles) {
+    final Profile profile = type.getAnnotation(Profile.class);
+    if (null == profile) return true;
+    for (final String name : profile.value()) {
+      if (name.startsWith("!") ? !activeProfiles.contains(name.substring(1)) : activeProfiles.contains(name))
+        return true;
+    }
+    if (log.isDebugEnabled()) log.debug("{} disabled, profiles {} are not active", type.getName(), profile.value());
+    return false;
+  }
+
+  /**
+   * @param type component type.
+   * @return true if component isn't conditional or it's property and class conditions are matched.
+   */
+  static boolean environment(final Class<?> type) {
+    final Conditional conditional = type.getAnnotation(Conditional.class);
+    if (null == conditional) return true;
+
+    final String property = conditional.property();
+    if (!"".equals(property)) {
+      final String systemProperty = System.getProperty(property);
+      final String value = null == systemProperty ? System.getenv(property) : systemProperty;
+      final String required = conditional.havingValue();
+      if (null == value || ("".equals(required) ? "false".equalsIgnoreCase(value) : !required.equals(value))) {
+        if (log.isDebugEnabled()) log.debug("{} disabled by property {}={}", type.getName(), property, value);
+        return false;
+      }
+    }
+
+    for (final String className : conditional.onClasses()) {
+      try {
+        Class.forName(className, false, type.getClassLoader());
+      }
+      catch (final ClassNotFoundException e) {
+        if (log.isDebugEnabled()) log.debug("{} disabled, class {} is missing", type.getName(), className);
+        return false;
+      }
+      catch (final LinkageError e) {
+        if (log.isDebugEnabled()) log.debug("{} disabled, class {} is broken", type.getName(), className);
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @param type component type.
+   * @return names of beans which presence or absence is required, empty if there are no bean conditions.
+   */
+  static String[] beans(final Class<?> type) {
+    final Conditional conditional = type.getAnnotation(Conditional.class);
+    if (null == conditional) return new String[0];
+    final Class<?>[] present = conditional.onBeans();
+    final Class<?>[] missing = conditional.onMissingBeans();
+    final String[] names = new String[present.length + missing.length];
+    for (int i = 0; i < present.length; i++) {
+      names[i] = present[i].getName();
+    }
+    for (int i = 0; i < missing.length; i++) {
+      names[present.length + i] = missing[i].getName();
+    }
+    return names;
+  }
+
+  /**
+   * @param type component type.
+   * @param context context to look beans up.
+   * @return true if component isn't conditional or it's bean conditions are matched.
+   */
+  static boolean beans(final Class<?> type, final DaggerokContext context) {
+    final Conditional conditional = type.getAnnotation(Conditional.class);
+    if (null == conditional) return true;
+    for (final Class<?> bean : conditional.onBeans()) {
+      if (null != context.lookup(bean.getName())) continue;
+      if (log.isDebugEnabled()) log.debug("{} disabled, bean {} is missing", type.getName(), bean.getName());
+      return false;
+    }
+    for (final Class<?> bean : conditional.onMissingBeans()) {
+      if (null == context.lookup(bean.getName())) continue;
+      if (log.isDebugEnabled()) log.debug("{} disabled, bean {} is present", type.getName(), bean.getName());
+      return false;
+    }
+    return true;
+  }
+}
@@ -0,0 +1,18 @@
+package daggerok.context;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks component which must be created first during {@link DaggerokContext#initializeAsync(java.util.concurrent.Executor)}.
+ *
+ * Critical beans (and it's dependencies) are created before any other bean, everything else is warmed up afterwards
+ * in background.
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Critical {}
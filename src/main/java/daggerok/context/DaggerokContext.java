@@ -2,17 +2,31 @@ package daggerok.context;
 
 import daggerok.context.Exceptions.BeanNotFoundException;
 import daggerok.context.Exceptions.CreateNewInstanceException;
+import daggerok.context.Finders.Finder;
 import daggerok.context.Finders.FinderBuilder;
+import daggerok.context.Lifecycles.Shutdown;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.io.Closeable;
+import java.io.File;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Constructor;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static daggerok.context.Requires.requireNonNull;
 
@@ -36,34 +50,89 @@ import static daggerok.context.Requires.requireNonNull;
  * {@link DaggerokContext#failOnInjectNullRef(boolean)}
  * {@link DaggerokContext#failOnBeanCreationError(boolean)}
  * {@link DaggerokContext#failOnUnknownReflectionsErrors(boolean)}
+ * {@link DaggerokContext#withShutdownTimeout(long, TimeUnit)}
+ * {@link DaggerokContext#withMetrics(boolean)}
+ * {@link DaggerokContext#withWiringPlan(File)}
+ * {@link DaggerokContext#withScanCache(boolean)}
+ * {@link DaggerokContext#withParent(DaggerokContext)}
+ * {@link DaggerokContext#withMaxResidentEvictables(int)}
+ * {@link DaggerokContext#withAutowiring(AutowiringPolicy)}
+ * {@link DaggerokContext#withProfiles(String...)}
+ * {@link DaggerokContext#withHotReload(long, TimeUnit)}
  * <p>
  *
  * Manual beans registration:
  * {@link DaggerokContext#register(String, Object)}
  * {@link DaggerokContext#register(Class, Object)}
+ * {@link DaggerokContext#register(GenericType, Object)}
+ * {@link DaggerokContext#registerAll(Map)}
+ * {@link DaggerokContext#batch()}
  * <p>
  *
  * Search, create and inject everything we can:
  * {@link DaggerokContext#initialize()}
+ * {@link DaggerokContext#initializeAsync(Executor)}
  * <p>
  *
  * Get bean from context - could be used before initialize() if bean was previously manually added:
  * {@link DaggerokContext#getBean(Class)}
  * {@link DaggerokContext#getBean(String, Class)}
+ * {@link DaggerokContext#getBean(GenericType)}
  * {@link DaggerokContext#getBean(String)}
+ * {@link DaggerokContext#getStartupReport()}
+ * {@link DaggerokContext#getFailureReport()}
+ * {@link DaggerokContext#getMetrics()}
+ * <p>
+ *
+ * Copy-on-write fork of initialized context, for tests isolation and per-request overrides:
+ * {@link DaggerokContext#fork()}
+ * {@link DaggerokContext#rebuildDependents()}
+ * <p>
+ *
+ * Destroy beans (@{@link PreDestroy} callbacks) in reverse dependency order:
+ * {@link DaggerokContext#close()}
  */
-public class DaggerokContext extends ConcurrentHashMap<Integer, HashSet<Constructor>> {
+public class DaggerokContext extends ConcurrentHashMap<Integer, HashSet<Constructor>> implements Closeable {
 
   private static final Logger log = LoggerFactory.getLogger(DaggerokContext.class);
 
   private final List<String> basePackages = new ArrayList<String>();
+  private final Set<String> scanned = Collections.synchronizedSet(new HashSet<String>());
+  private final Set<Constructor> pending = Collections.synchronizedSet(new LinkedHashSet<Constructor>());
   private final ConcurrentHashMap<String, Object> beans = new ConcurrentHashMap<String, Object>();
+  private final ConcurrentHashMap<String, String[]> dependencies = new ConcurrentHashMap<String, String[]>();
+  private final ConcurrentHashMap<String, String> bindings = new ConcurrentHashMap<String, String>();
+  private final ConcurrentHashMap<String, Long> unbound = new ConcurrentHashMap<String, Long>();
+  private final AtomicLong registrations = new AtomicLong();
+  private final AtomicBoolean closed = new AtomicBoolean(false);
+  private final Object initialization = new Object();
+  private final Object registration = new Object();
+  private final Evictables evictables = new Evictables(this);
+  private final ConcurrentHashMap<Class<?>, Constructor[]> instantiable =
+      new ConcurrentHashMap<Class<?>, Constructor[]>();
+  private volatile Map<String, Object> publishing = null;
+  private volatile StartupEvents events = StartupEvents.jfr();
+  private volatile StartupReport startupReport = null;
+  private volatile FailureReport.Recorder failures = null;
+  private volatile FailureReport failureReport = null;
 
   private Class<? extends Annotation> injectAnnotation = Inject.class;
   private Class<? extends Annotation> componentAnnotation = Singleton.class;
   private boolean failOnInjectNullRef = false;
   private boolean failOnBeanCreationError = false;
   private boolean failOnUnknownReflectionsErrors = false;
+  private long shutdownTimeout = 30;
+  private TimeUnit shutdownTimeoutUnit = TimeUnit.SECONDS;
+  private File wiringPlan = null;
+  private boolean scanCache = true;
+  private volatile DaggerokContext parent = null;
+  private AutowiringPolicy autowiring = AutowiringPolicy.PERMISSIVE;
+  private Set<String> profiles = Collections.singleton(Profile.DEFAULT);
+  private volatile HotReload hotReload = null;
+
+  private volatile Warmup warmup = null;
+  private volatile LookupMetrics metrics = null;
+  private volatile WiringPlan plan = null;
 
   /* public API */
 
@@ -265,6 +334,180 @@ public class DaggerokContext extends ConcurrentHashMap<Integer, HashSet<Construc
     return this;
   }
 
+  /**
+   * Step 2: Optionally configure how long each bean @{@link PreDestroy} callback may take on {@link #close()}.
+   * Default: 30 seconds.
+   *
+   * @param timeout per bean destroy timeout.
+   * @param unit timeout unit.
+   * @return context configuration.
+   */
+  public DaggerokContext withShutdownTimeout(final long timeout, final TimeUnit unit) {
+    requireNonNull(unit, "shutdown timeout unit");
+    if (timeout < 0) throw new IllegalArgumentException("shutdown timeout may not be negative.");
+    this.shutdownTimeout = timeout;
+    this.shutdownTimeoutUnit = unit;
+    return this;
+  }
+
+  /**
+   * Step 2: Optionally enable runtime metrics: getBean lookups and misses per bean name, bean creations and their
+   * latency histograms. Metrics are registered as platform MBean (daggerok.context:type=DaggerokContext) and are
+   * available by {@link #getMetrics()}. Default: false.
+   *
+   * @param enabled if set to true, metrics will be collected and exposed through JMX.
+   * @return context configuration.
+   */
+  public DaggerokContext withMetrics(final boolean enabled) {
+    final LookupMetrics current = metrics;
+    if (enabled == (null != current)) return this;
+    if (enabled) {
+      final LookupMetrics created = new LookupMetrics();
+      created.register(this);
+      metrics = created;
+    }
+    else {
+      metrics = null;
+      current.unregister();
+    }
+    return this;
+  }
+
+  /**
+   * Step 2: Optionally use recorded wiring plan. Default: none.
+   *
+   * On initialize() resolved plan (ordered constructors with their parameter bindings, skipped and failed beans) is
+   * written into given file. Next initialize() with matching fingerprint (same base packages, annotations and
+   * classes) replays that plan: scanning and dependency resolution are skipped, beans are created by straight run of
+   * constructor calls. If plan doesn't match or cannot be replayed, regular initialization is used and plan is
+   * rewritten. Not used by asynchronous initialization.
+   *
+   * applicationContext.withWiringPlan(new File("target/wiring.plan"));
+   *
+   * @param file plan file.
+   * @return context configuration.
+   */
+  public DaggerokContext withWiringPlan(final File file) {
+    requireNonNull(file, "wiring plan file");
+    this.wiringPlan = file;
+    return this;
+  }
+
+  /**
+   * Step 2: Optionally configure if components scan results and resolved wiring plans are shared between contexts.
+   * Default: true
+   *
+   * First initialize() of given base packages and annotations scans classpath, every next context (in the same
+   * JVM and class loader) reuses found components and injectors, and if no wiring plan file is used replays resolved
+   * construction plan as well. Beans are never shared: each context creates its own instances. Cache is bounded
+   * and keeps class names only, so class loaders of redeployed applications could be garbage collected.
+   *
+   * applicationContext.withScanCache(false); // always scan classpath
+   *
+   * @param scanCache if set to false, context always scans classpath and resolves dependencies by itself.
+   * @return context configuration.
+   */
+  public DaggerokContext withScanCache(final boolean scanCache) {
+    this.scanCache = scanCache;
+    return this;
+  }
+
+  /**
+   * Step 2: Optionally configure parent context. Default: none.
+   *
+   * Bean lookups which are not found in this context fall through to parent (and it's parents). On initialize()
+   * child creates only beans which are not provided by parent, so heavy shared singletons are created once and are
+   * injected into beans of every child. Child never destroys parent beans on {@link #close()}.
+   *
+   *   final DaggerokContext shared = DaggerokContext.create(Infrastructure.class).initialize();
+   *   final DaggerokContext tenant = DaggerokContext.create(TenantService.class).withParent(shared).initialize();
+   *
+   * @param parent initialized parent context, if it's asynchronous initialization is in progress child
+   *               initialization waits for it.
+   * @return context configuration.
+   */
+  public DaggerokContext withParent(final DaggerokContext parent) {
+    requireNonNull(parent, "parent context");
+    for (DaggerokContext ancestor = parent; null != ancestor; ancestor = ancestor.parent) {
+      if (this == ancestor) throw new IllegalArgumentException("context may not be it's own parent.");
+    }
+    this.parent = parent;
+    return this;
+  }
+
+  /**
+   * Step 2: Optionally limit amount of resident @{@link Evictable} beans: least recently used are evicted first and
+   * rebuilt on next access. Default: no limit, evictable beans are evicted by garbage collector under memory pressure
+   * or after their idle timeout only.
+   *
+   * @param maxResident maximum amount of resident evictable beans.
+   * @return context configuration.
+   */
+  public DaggerokContext withMaxResidentEvictables(final int maxResident) {
+    if (maxResident < 0) throw new IllegalArgumentException("max resident evictable beans may not be negative.");
+    evictables.maxResident(maxResident);
+    return this;
+  }
+
+  /**
+   * Step 2: Optionally configure which not registered constructor parameter types context may create implicitly by
+   * their public no-arg constructor. Default: {@link AutowiringPolicy#PERMISSIVE}.
+   *
+   *   applicationContext.withAutowiring(AutowiringPolicy.STRICT); // only scanned and registered beans
+   *   applicationContext.withAutowiring(AutowiringPolicy.packages("my.app"));
+   *
+   * @param autowiring autowiring policy.
+   * @return context configuration.
+   */
+  public DaggerokContext withAutowiring(final AutowiringPolicy autowiring) {
+    requireNonNull(autowiring, "autowiring policy");
+    this.autowiring = autowiring;
+    return this;
+  }
+
+  /**
+   * Step 2: Optionally configure active profiles: components annotated with @{@link Profile} of other profiles are
+   * excluded at discovery and never created. Default: {@link Profile#DEFAULT}.
+   *
+   *   applicationContext.withProfiles("prod", "eu");
+   *
+   * @param profiles active profile names.
+   * @return context configuration.
+   */
+  public DaggerokContext withProfiles(final String... profiles) {
+    requireNonNull(profiles, "profiles");
+    final Set<String> active = new TreeSet<String>();
+    for (final String profile : profiles) {
+      requireNonNull(profile, "profile");
+      active.add(profile);
+    }
+    this.profiles = Collections.unmodifiableSet(active);
+    instantiable.clear();
+    return this;
+  }
+
+  /**
+   * Step 2: Optionally enable development mode: compiled classes directories of base packages are polled with given
+   * interval after initialization, changed bean classes are reloaded in new class loader and only changed beans and
+   * their dependents are re-created, all other beans stay intact. Default: disabled. Never use it in production.
+   *
+   *   applicationContext.withHotReload(500, TimeUnit.MILLISECONDS);
+   *
+   * Reloaded beans are instances of new classes: use them by interfaces or get them by name.
+   *
+   * @param interval polling interval.
+   * @param unit interval time unit.
+   * @return context configuration.
+   */
+  public DaggerokContext withHotReload(final long interval, final TimeUnit unit) {
+    requireNonNull(unit, "interval unit");
+    if (interval <= 0) throw new IllegalArgumentException("hot reload interval must be positive.");
+    final HotReload previous = hotReload;
+    if (null != previous) previous.stop();
+    hotReload = new HotReload(this, interval, unit);
+    return this;
+  }
+
   /* manual context registration */
 
   /**
@@ -286,6 +529,22 @@ public class DaggerokContext extends ConcurrentHashMap<Integer, HashSet<Construc
     return this;
   }
 
+  /**
+   * Step 3: Optionally in addition manually register bean by it's parametrized type: it's injected into constructor
+   * parameters of exactly the same type, Repository&lt;User&gt; and Repository&lt;Order&gt; are different beans.
+   *
+   * applicationContext.register(new GenericType&lt;Repository&lt;User&gt;&gt;() {}, new UserRepository());
+   *
+   * @param beanType parametrized bean type.
+   * @param instance bean instance.
+   * @param <T>      can any bean instance.
+   * @return context configuration.
+   */
+  public <T> DaggerokContext register(final GenericType<T> beanType, final T instance) {
+    requireNonNull(beanType, "bean type");
+    return register(beanType.key(), instance);
+  }
+
   /**
    * Step 3: Optionally in addition manually register bean by it's full (FQDN) class name.
    *
@@ -299,6 +558,8 @@ public class DaggerokContext extends ConcurrentHashMap<Integer, HashSet<Construc
    * applicationContext.register(myOtherBean.getClass().getName(), myOtherBean);
    * applicationContext.register(MyService.class.getClass().getName(), new MyService(myOtherBean));
    *
+   * Manual registration always wins: bean is never replaced by concurrently running initialization.
+   *
    * @param beanName FQDN class name.
    * @param instance bean instance.
    * @param <T>      can any bean instance.
@@ -308,9 +569,46 @@ public class DaggerokContext extends ConcurrentHashMap<Integer, HashSet<Construc
     requireNonNull(beanName, "bean name type");
     requireNonNull(instance, "instance");
     beans.put(beanName, instance);
+    registrations.incrementAndGet();
     return this;
   }
 
+  /**
+   * Step 3: Optionally in addition manually register many beans by their full (FQDN) class names at once.
+   *
+   * All entries are validated first, afterwards they are published in one step: lookups never observe partially
+   * registered map.
+   *
+   *   final Map&lt;String, Object&gt; plugins = loadPlugins();
+   *   applicationContext.registerAll(plugins);
+   *
+   * @param beans FQDN class names to bean instances.
+   * @return context configuration.
+   */
+  public DaggerokContext registerAll(final Map<String, ?> beans) {
+    requireNonNull(beans, "beans");
+    final RegistrationBatch batch = new RegistrationBatch(this, beans.size());
+    for (final Entry<String, ?> entry : beans.entrySet()) {
+      batch.register(entry.getKey(), entry.getValue());
+    }
+    return batch.publish();
+  }
+
+  /**
+   * Step 3: Optionally in addition manually register many beans at once: nothing is visible in context until batch is
+   * published, afterwards all beans of batch are visible at once.
+   *
+   *   applicationContext.batch()
+   *                     .register(MyBean.class, myBean)
+   *                     .register(MyOtherBean.class, myOtherBean)
+   *                     .publish();
+   *
+   * @return empty registration batch.
+   */
+  public RegistrationBatch batch() {
+    return new RegistrationBatch(this, 16);
+  }
+
   /* context initialization */
 
   /**
@@ -318,10 +616,61 @@ public class DaggerokContext extends ConcurrentHashMap<Integer, HashSet<Construc
    *
    * Scanning for components and registering beans for application context will be returned.
    *
+   * Concurrent initializations (including asynchronous one) are serialized and already existing beans are never
+   * created again, so each bean is constructed exactly once no matter how many threads are initializing context.
+   *
+   * Next initializations are incremental: only base packages added since previous initialization are scanned, and
+   * only new beans and beans which missing dependencies were registered since then are created.
+   *
+   *   applicationContext.withBasePackageNames("my.app.plugin").initialize(); // costs O(plugin beans)
+   *
    * @return context configuration.
    */
   public DaggerokContext initialize() {
-    return findAndRegisterAllBeans().register(DaggerokContext.class, this);
+    synchronized (initialization) {
+      final Warmup active = warmup;
+      if (null != active) return active.call(); // beans are created once, by asynchronous initialization in progress
+      awaitParent();
+      final StartupReport.Recorder recorder = startRecording();
+      try {
+        if (scanned.isEmpty()) findAndRegisterAllBeans().scanned();
+        else findAndRegisterNewBeans();
+        watch();
+        return register(DaggerokContext.class, this);
+      }
+      finally {
+        stopRecording(recorder);
+      }
+    }
+  }
+
+  /**
+   * Step 4: Asynchronous context initialization.
+   *
+   * Returns immediately. Scanning for components and beans creation will be done using given executor:
+   * beans annotated with @{@link Critical} are created first, everything else is warmed up afterwards.
+   *
+   *   final Future&lt;DaggerokContext&gt; future = applicationContext.initializeAsync(executor);
+   *   final MyBean myBean = applicationContext.getBean(MyBean.class); // waits only for MyBean dependencies
+   *   future.get(); // waits for fully initialized context
+   *
+   * While initialization is in progress, getBean of not yet created bean will create it in caller thread with all
+   * it's dependencies instead of waiting for whole context initialization.
+   *
+   * @param executor executor to be used for components scan and beans warmup.
+   * @return future of fully initialized context.
+   */
+  public Future<DaggerokContext> initializeAsync(final Executor executor) {
+    requireNonNull(executor, "executor");
+    final Warmup warmup;
+    synchronized (initialization) {
+      register(DaggerokContext.class, this);
+      warmup = null == this.warmup ? new Warmup(this, executor, startRecording()) : this.warmup;
+      this.warmup = warmup;
+    }
+    final FutureTask<DaggerokContext> future = new FutureTask<DaggerokContext>(warmup);
+    executor.execute(future);
+    return future;
   }
 
   /* context usage */
@@ -345,6 +694,22 @@ public class DaggerokContext extends ConcurrentHashMap<Integer, HashSet<Construc
     return getBean(type.getName());
   }
 
+  /**
+   * Step 5: Gets bean instance by it's parametrized type: bean registered by this type, otherwise the only bean
+   * implementing it.
+   *
+   *   final GenericType&lt;Repository&lt;User&gt;&gt; type = new GenericType&lt;Repository&lt;User&gt;&gt;() {};
+   *   final Repository&lt;User&gt; users = applicationContext.getBean(type);
+   *
+   * @param type parametrized bean type.
+   * @param <T>  bean type.
+   * @return bean from context if registered otherwise null.
+   */
+  public <T> T getBean(final GenericType<T> type) {
+    requireNonNull(type, "bean type");
+    return this.<T>getBean(type.key());
+  }
+
   /**
    * Step 5: Gets named bean instance by it's type.
    *
@@ -362,7 +727,7 @@ public class DaggerokContext extends ConcurrentHashMap<Integer, HashSet<Construc
    */
   public <T> T getBean(final String name, final Class<T> type) {
     requireNonNull(name, "bean name");
-    return type.cast(beans.get(name));
+    return type.cast(getBean(name));
   }
 
   /**
@@ -382,14 +747,553 @@ public class DaggerokContext extends ConcurrentHashMap<Integer, HashSet<Construc
   @SuppressWarnings("unchecked")
   public <T> T getBean(final String typeName) {
     requireNonNull(typeName, "bean name");
-    return (T) beans.get(typeName);
+    final Object found = resolve(typeName);
+    final Warmup warmup = this.warmup;
+    final Object bean = null != found || null == warmup ? found : warmup.await(typeName);
+    final LookupMetrics metrics = this.metrics;
+    if (null != metrics) metrics.lookup(typeName, null != bean);
+    return (T) bean;
+  }
+
+  /**
+   * Step 5: Gets startup timings of last initialization.
+   *
+   *   final StartupReport report = applicationContext.initialize().getStartupReport();
+   *   System.out.println(report.getCriticalPath());
+   *
+   * @return startup report, or null if context wasn't initialized yet or asynchronous initialization isn't done.
+   */
+  public StartupReport getStartupReport() {
+    return startupReport;
+  }
+
+  /**
+   * Step 5: Gets beans creation failures of last initialization.
+   *
+   * Each failing constructor is invoked only once per initialization, afterwards it's failure is remembered and
+   * beans depending on it are skipped.
+   *
+   *   final FailureReport report = applicationContext.initialize().getFailureReport();
+   *   for (final FailureReport.Failure failure : report.getFailures()) {
+   *     System.err.println(failure.getType() + " skipped " + failure.getSkippedDependents());
+   *   }
+   *
+   * @return failure report, or null if context wasn't initialized yet or asynchronous initialization isn't done.
+   */
+  public FailureReport getFailureReport() {
+    return failureReport;
+  }
+
+  /**
+   * Step 5: Gets runtime lookup metrics.
+   *
+   * @return metrics or null if metrics are not enabled, see {@link #withMetrics(boolean)}.
+   */
+  public LookupMetricsMBean getMetrics() {
+    return metrics;
+  }
+
+  /* context forking */
+
+  /**
+   * Step 5: Forks initialized context.
+   *
+   * Fork shares all beans of this context without copying them: fork is an empty context which lookups fall through
+   * to this one (see {@link #withParent(DaggerokContext)}), so fork costs O(overrides), not O(beans). Beans
+   * registered in fork override original ones in fork only, original context is never affected. Beans which depend on
+   * overridden ones are not rebuilt unless {@link #rebuildDependents()} is called.
+   *
+   *   final DaggerokContext test = applicationContext.fork()
+   *                                                .register(MyRepository.class, new InMemoryRepository())
+   *                                                .rebuildDependents();
+   *
+   * @return fork with the same configuration, which is already initialized.
+   */
+  public DaggerokContext fork() {
+    final DaggerokContext fork = new DaggerokContext(new String[0]);
+    fork.basePackages.addAll(basePackages);
+    fork.injectAnnotation = injectAnnotation;
+    fork.componentAnnotation = componentAnnotation;
+    fork.failOnInjectNullRef = failOnInjectNullRef;
+    fork.failOnBeanCreationError = failOnBeanCreationError;
+    fork.failOnUnknownReflectionsErrors = failOnUnknownReflectionsErrors;
+    fork.shutdownTimeout = shutdownTimeout;
+    fork.shutdownTimeoutUnit = shutdownTimeoutUnit;
+    fork.scanCache = scanCache;
+    fork.autowiring = autowiring;
+    fork.profiles = profiles;
+    fork.scanned.addAll(scanned);
+    synchronized (pending) {
+      fork.pending.addAll(pending);
+    }
+    fork.parent = this;
+    return fork.register(DaggerokContext.class, fork);
+  }
+
+  /**
+   * Step 5: Re-creates in this context all beans of parent contexts which depend (directly or transitively) on beans
+   * overridden in this context, using the same constructors they were created by. Manually registered beans of parent
+   * contexts are never rebuilt. Opt-in for {@link #fork()}: it costs O(beans) of parent contexts.
+   *
+   * @return context with rebuilt dependents.
+   */
+  public DaggerokContext rebuildDependents() {
+    synchronized (initialization) {
+      final Map<String, String[]> inherited = new HashMap<String, String[]>();
+      for (DaggerokContext ancestor = parent; null != ancestor; ancestor = ancestor.parent) {
+        for (final Entry<String, String[]> entry : ancestor.dependencies.entrySet()) {
+          final String name = entry.getKey();
+          if (!beans.containsKey(name) && !inherited.containsKey(name)) inherited.put(name, entry.getValue());
+        }
+      }
+
+      final Set<String> dependents = new HashSet<String>();
+      for (boolean found = true; found; ) {
+        found = false;
+        for (final Entry<String, String[]> entry : inherited.entrySet()) {
+          if (dependents.contains(entry.getKey())) continue;
+          for (final String dependency : entry.getValue()) {
+            if (!beans.containsKey(dependency) && !dependents.contains(dependency)) continue;
+            found = dependents.add(entry.getKey());
+            break;
+          }
+        }
+      }
+
+      for (final String name : dependents) {
+        rebuild(name, inherited, dependents);
+      }
+      return this;
+    }
+  }
+
+  /* context destruction */
+
+  /**
+   * Step 6: Context destruction.
+   *
+   * Invokes @{@link PreDestroy} callbacks of all beans in reverse dependency order: bean is destroyed only after all
+   * beans it was injected in are destroyed. Independent beans are destroyed in parallel, each callback may take no
+   * longer than configured shutdown timeout. Context is empty afterwards, next calls do nothing.
+   */
+  public void close() {
+    if (!closed.compareAndSet(false, true)) return;
+
+    final HotReload hotReload = this.hotReload;
+    if (null != hotReload) hotReload.stop();
+
+    final Map<String, Object> destroyable = evictables.clear();
+    for (final Entry<String, Object> entry : beans.entrySet()) {
+      if (this != entry.getValue()) destroyable.put(entry.getKey(), entry.getValue());
+    }
+
+    new Shutdown(destroyable, dependencies, shutdownTimeout, shutdownTimeoutUnit).run();
+    beans.clear();
+    dependencies.clear();
+    bindings.clear();
+    unbound.clear();
+    withMetrics(false);
   }
 
   /* overrides */
 
   @Override
   public int size() {
-    return beans.size();
+    return beans.size() + evictables.size();
+  }
+
+  /* package-private API */
+
+  /**
+   * @return finder configured with current context base packages and annotations.
+   */
+  Finder finder() {
+    return finder(basePackages);
+  }
+
+  /**
+   * All current base packages are scanned, next initialization will scan only new ones.
+   */
+  void scanned() {
+    scanned.addAll(basePackages);
+  }
+
+  /**
+   * @param packages base packages to be scanned.
+   * @return finder configured with given base packages and context annotations.
+   */
+  Finder finder(final List<String> packages) {
+    return FinderBuilder
+        .builder()
+        .basePackages(packages)
+        .componentAnnotation(componentAnnotation)
+        .injectAnnotation(injectAnnotation)
+        .failOnUnknownReflectionsErrors(failOnUnknownReflectionsErrors)
+        .scanCache(scanCache)
+        .events(events)
+        .build();
+  }
+
+  /**
+   * Publishes validated batch of manually registered beans: batch becomes visible to lookups as a whole before it's
+   * copied into context by one bulk operation.
+   *
+   * @param batch bean names to bean instances.
+   */
+  void publish(final Map<String, Object> batch) {
+    if (batch.isEmpty()) return;
+    final Map<String, Object> published = new HashMap<String, Object>(batch);
+    synchronized (registration) {
+      publishing = published;
+      try {
+        beans.putAll(published);
+        registrations.incrementAndGet();
+      }
+      finally {
+        publishing = null;
+      }
+    }
+  }
+
+  /**
+   * @param name bean name.
+   * @return bean registered in context or in one of it's parents, never waits for asynchronous initialization.
+   */
+  Object lookup(final String name) {
+    final Map<String, Object> publishing = this.publishing;
+    final Object published = null == publishing ? null : publishing.get(name);
+    if (null != published) return published;
+    final Object bean = beans.get(name);
+    if (null != bean) return bean;
+    final Object evictable = evictables.get(name);
+    final DaggerokContext parent = this.parent;
+    return null != evictable || null == parent ? evictable : parent.lookup(name);
+  }
+
+  /**
+   * @param key bean name or generic key of parametrized injection point, see {@link TypeKeys}.
+   * @return bean registered by given key, otherwise the only bean implementing parametrized type, otherwise bean
+   *         registered by erased class name, never waits for asynchronous initialization.
+   */
+  Object resolve(final String key) {
+    final Object bean = lookup(key);
+    if (null != bean || !TypeKeys.generic(key)) return bean;
+    final String bound = bound(key);
+    return lookup(null == bound ? TypeKeys.erase(key) : bound);
+  }
+
+  /**
+   * @param key bean name or generic key of parametrized injection point.
+   * @return name of bean given key is resolved to.
+   */
+  String name(final String key) {
+    if (!TypeKeys.generic(key) || null != lookup(key)) return key;
+    final String bound = bound(key);
+    return null == bound ? TypeKeys.erase(key) : bound;
+  }
+
+  /**
+   * Binds generic key to the only bean implementing parametrized type (nearest context wins). Binding is resolved
+   * once and cached, while bound bean exists. Misses (no or several implementing beans) are cached as well, until any
+   * bean is registered in this or parent context, so lookups of unbound keys are not scanning all beans every time.
+   *
+   * @param key generic key.
+   * @return bound bean name or null if there is no such bean or there are several of them.
+   */
+  private String bound(final String key) {
+    final String known = bindings.get(key);
+    if (null != known && null != lookup(known)) return known;
+    final long version = registrations();
+    final Long missed = unbound.get(key);
+    if (null != missed && version == missed) return null;
+
+    final String bound = bind(key);
+    if (null == bound) unbound.put(key, version);
+    else unbound.remove(key);
+    return bound;
+  }
+
+  private String bind(final String key) {
+    for (DaggerokContext context = this; null != context; context = context.parent) {
+      String found = null;
+      Object bean = null;
+      for (final Entry<String, Object> entry : context.beans.entrySet()) {
+        final Object candidate = entry.getValue();
+        if (candidate instanceof DaggerokContext || candidate == bean) continue;
+        if (!TypeKeys.implementing(candidate.getClass(), key)) continue;
+        if (null != found) {
+          if (log.isDebugEnabled()) log.debug("several beans are implementing {}: {}, {}", key, found, entry.getKey());
+          return null;
+        }
+        found = entry.getKey();
+        bean = candidate;
+      }
+      if (null == found) continue;
+      bindings.put(key, found);
+      return found;
+    }
+    return null;
+  }
+
+  /**
+   * @return number of bean registrations in this and parent contexts, changes whenever any bean is (re-)registered.
+   */
+  private long registrations() {
+    long result = 0;
+    for (DaggerokContext context = this; null != context; context = context.parent) {
+      result += context.registrations.get();
+    }
+    return result;
+  }
+
+  /**
+   * @param type @{@link Lazy} parameter interface or javax.inject.Provider parametrized type.
+   * @return provider of bean, bean itself if it's already exists or proxy resolving it on first call.
+   */
+  Object lazy(final Type type) {
+    final Class<?> provided = LazyProxy.providedType(type);
+    if (null != provided) {
+      final String key = TypeKeys.key(((ParameterizedType) type).getActualTypeArguments()[0]);
+      return new BeanProvider(this, null == key ? provided.getName() : key);
+    }
+    final Class<?> lazy = (Class<?>) type;
+    final Object bean = lookup(lazy.getName());
+    return null != bean ? bean : LazyProxy.create(this, lazy);
+  }
+
+  /**
+   * @param type interface.
+   * @return the only bean implementing given interface (nearest context wins), waits for asynchronous
+   *         initialization to create it, or null if there is no such bean.
+   * @throws IllegalStateException if there are several beans implementing interface.
+   */
+  Object lookupImplementation(final Class<?> type) {
+    final Warmup warmup = this.warmup;
+    if (null != warmup) warmup.awaitImplementations(type);
+    for (DaggerokContext context = this; null != context; context = context.parent) {
+      Object found = null;
+      for (final Object bean : context.beans.values()) {
+        if (bean instanceof DaggerokContext || !type.isInstance(bean) || bean == found) continue;
+        if (null != found) throw new IllegalStateException("several beans are implementing " + type.getName());
+        found = bean;
+      }
+      if (null != found) return found;
+    }
+    return null;
+  }
+
+  /**
+   * @param name bean name.
+   * @return true if bean is registered in @{@link Evictable} scope of this context or nearest parent defining it.
+   */
+  boolean evictable(final String name) {
+    for (DaggerokContext context = this; null != context; context = context.parent) {
+      if (context.evictables.contains(name)) return true;
+      if (context.beans.containsKey(name)) return false;
+    }
+    return false;
+  }
+
+  /**
+   * @return runtime metrics or null if metrics are not enabled.
+   */
+  LookupMetrics metrics() {
+    return metrics;
+  }
+
+  /**
+   * Rebuilds evicted @{@link Evictable} bean, without registration.
+   *
+   * @param constructor constructor bean was created by.
+   * @return new bean instance or null if any of dependencies is missing or bean creation failed.
+   */
+  Object rebuild(final Constructor constructor) {
+    final Object[] params = inject(constructor, WiringPlan.names(constructor));
+    for (final Object param : params) {
+      if (null == param) return null;
+    }
+    return newInstance(constructor, params);
+  }
+
+  /**
+   * @return startup phases instrumentation.
+   */
+  StartupEvents events() {
+    return events;
+  }
+
+  /**
+   * Creates and registers bean. Used by asynchronous initialization.
+   * Will throw {@link BeanNotFoundException} if bean wasn't created and failOnInjectNullRef enabled.
+   *
+   * @param constructor constructor to be used for bean creation.
+   * @param params parameters to be pass in constructor.
+   * @return registered bean or null if bean creation failed.
+   */
+  Object instantiate(final Constructor constructor, final Object... params) {
+    final Class type = constructor.getDeclaringClass();
+    final Object bean = newInstance(constructor, params);
+
+    if (null == bean) {
+
+      if (failOnInjectNullRef) {
+        final BeanNotFoundException exception = new BeanNotFoundException(type);
+        log.error(exception.getLocalizedMessage(), exception);
+        throw exception;
+      }
+
+      if (log.isDebugEnabled()) log.debug("Injecting bean {} and was resulted in null.", type.getName());
+      return null;
+    }
+
+    final Object registered = registerIfAbsent(constructor, bean);
+    dependsOn(type, constructor);
+    return registered;
+  }
+
+  /**
+   * Regular context initialization, which also records resolved wiring plan. Used by generators.
+   *
+   * @return recorded plan.
+   */
+  WiringPlan initializeAndRecord() {
+    synchronized (initialization) {
+      final StartupReport.Recorder recorder = startRecording();
+      try {
+        final WiringPlan plan = new WiringPlan(WiringPlan.fingerprint(basePackages, componentAnnotation,
+                                                                      injectAnnotation, autowiring, profiles));
+        createAllBeans(plan);
+        register(DaggerokContext.class, this);
+        return plan;
+      }
+      finally {
+        stopRecording(recorder);
+      }
+    }
+  }
+
+  /**
+   * Asynchronous initialization is done, from now on getBean will not wait for it anymore.
+   *
+   * @param completed finished warmup.
+   */
+  void warmedUp(final Warmup completed) {
+    stopRecording(completed.recorder);
+    if (warmup == completed) warmup = null;
+    watch();
+  }
+
+  /**
+   * Re-creates beans of reloaded classes and all their dependents (directly or transitively), in dependency order,
+   * using classes of given class loader. Manually registered beans are never reloaded. If bean cannot be re-created,
+   * previous one is kept.
+   *
+   * @param classNames changed class names.
+   * @param loader class loader to be used for reloaded classes.
+   * @return names of reloaded beans.
+   */
+  Set<String> reload(final Set<String> classNames, final HotReload.Loader loader) {
+    synchronized (initialization) {
+      final Set<String> reloaded = new HashSet<String>();
+      for (final String name : classNames) {
+        final Object bean = beans.get(name);
+        if (null != bean && name.equals(bean.getClass().getName())) reloaded.add(name);
+      }
+      for (boolean found = !reloaded.isEmpty(); found; ) {
+        found = false;
+        for (final Entry<String, String[]> entry : dependencies.entrySet()) {
+          if (reloaded.contains(entry.getKey()) || !beans.containsKey(entry.getKey())) continue;
+          for (final String dependency : entry.getValue()) {
+            if (!reloaded.contains(dependency)) continue;
+            found = reloaded.add(entry.getKey());
+            break;
+          }
+        }
+      }
+      if (reloaded.isEmpty()) return reloaded;
+
+      final Map<String, String[]> wiring = new HashMap<String, String[]>(dependencies);
+      final Map<String, Object> previous = new HashMap<String, Object>();
+      for (final String name : reloaded) {
+        loader.reload(name);
+        previous.put(name, beans.remove(name));
+      }
+      registrations.incrementAndGet();
+
+      final Thread thread = Thread.currentThread();
+      final ClassLoader classLoader = thread.getContextClassLoader();
+      thread.setContextClassLoader(loader);
+      try {
+        for (final String name : reloaded) {
+          rebuild(name, wiring, reloaded);
+        }
+      }
+      catch (final RuntimeException e) {
+        log.warn("beans {} cannot be reloaded: {}", reloaded, e.toString());
+      }
+      finally {
+        thread.setContextClassLoader(classLoader);
+      }
+
+      for (final Entry<String, Object> entry : previous.entrySet()) {
+        if (null == beans.putIfAbsent(entry.getKey(), entry.getValue())) { // not re-created, previous is kept
+          registrations.incrementAndGet();
+          reloaded.remove(entry.getKey());
+          continue;
+        }
+        try {
+          Lifecycles.preDestroy(entry.getValue());
+        }
+        catch (final Exception e) {
+          log.warn("reloaded bean {} destroy failed: {}", entry.getKey(), e.getLocalizedMessage());
+        }
+      }
+      return reloaded;
+    }
+  }
+
+  /**
+   * Instantiability index: each type is inspected by reflection only once per context.
+   *
+   * @param type not registered parameter type.
+   * @return public no-arg constructors of type if autowiring policy allows to create it implicitly, otherwise none:
+   *         @{@link Conditional} components and components of inactive profiles are never created implicitly.
+   */
+  Constructor[] noArgConstructors(final Class<?> type) {
+    if (!autowiring.allows(type) || type.isAnnotationPresent(Conditional.class) || !active(type))
+      return new Constructor[0];
+    final Constructor[] known = instantiable.get(type);
+    if (null != known) return known;
+    events.reflectiveCall();
+    final List<Constructor> result = new ArrayList<Constructor>();
+    for (final Constructor constructor : type.getConstructors()) {
+      if (0 == constructor.getParameterTypes().length) result.add(constructor);
+    }
+    final Constructor[] constructors = result.toArray(new Constructor[result.size()]);
+    final Constructor[] existing = instantiable.putIfAbsent(type, constructors);
+    return null == existing ? constructors : existing;
+  }
+
+  /**
+   * Remembers bean, which wasn't created because of missing dependencies, for failure report and to be created by
+   * next initialization once dependencies arrived.
+   *
+   * @param constructor bean constructor.
+   */
+  void skipped(final Constructor constructor) {
+    pending.add(constructor);
+    final FailureReport.Recorder failures = this.failures;
+    if (null != failures) failures.skipped(constructor);
+  }
+
+  /**
+   * Parent beans must be known before child creates it's own, otherwise they would be duplicated.
+   */
+  void awaitParent() {
+    for (DaggerokContext ancestor = parent; null != ancestor; ancestor = ancestor.parent) {
+      final Warmup active = ancestor.warmup;
+      if (null != active) active.call();
+    }
   }
 
   /* private API */
@@ -412,17 +1316,280 @@ public class DaggerokContext extends ConcurrentHashMap<Integer, HashSet<Construc
 
   /* helpers and DRY methods */
 
+  private StartupReport.Recorder startRecording() {
+    final StartupReport.Recorder recorder = new StartupReport.Recorder();
+    events = StartupEvents.both(StartupEvents.jfr(), recorder);
+    failures = new FailureReport.Recorder();
+    return recorder;
+  }
+
+  private void stopRecording(final StartupReport.Recorder recorder) {
+    events = StartupEvents.jfr();
+    startupReport = recorder.report(dependencies);
+    final FailureReport.Recorder failures = this.failures;
+    this.failures = null;
+    if (null != failures) failureReport = failures.report(this);
+  }
+
+  /**
+   * Starts hot reload, if it's enabled.
+   */
+  private void watch() {
+    final HotReload hotReload = this.hotReload;
+    if (null != hotReload) hotReload.start(new ArrayList<String>(basePackages));
+  }
+
   /**
    * Scan for component classes and context initialization.
    *
    * @return context initialization.
    */
   private DaggerokContext findAndRegisterAllBeans() {
-    createNoArgComponents();
-    injectConstructorsInstances();
+    final File file = wiringPlan;
+    if (null == file) return scanCache ? findAndRegisterAllBeansCached()
+                                       : createBeans(finder(), Collections.<Constructor>emptyList());
+
+    final String fingerprint = WiringPlan.fingerprint(basePackages, componentAnnotation, injectAnnotation,
+                                                        autowiring, profiles);
+    final WiringPlan recorded = WiringPlan.read(file);
+    final WiringPlan plan = new WiringPlan(fingerprint);
+    if (null != recorded && fingerprint.equals(recorded.fingerprint) && replay(recorded, plan)) return this;
+
+    createAllBeans(plan).write(file);
     return this;
   }
 
+  /**
+   * Replays wiring plan resolved by other context with the same configuration, if any. Plans with failed beans are
+   * not shared: such failures could be transient.
+   *
+   * @return context initialization.
+   */
+  private DaggerokContext findAndRegisterAllBeansCached() {
+    final StringBuilder configuration = new StringBuilder()
+        .append(componentAnnotation.getName()).append('|')
+        .append(injectAnnotation.getName()).append('|')
+        .append(failOnInjectNullRef).append('|')
+        .append(failOnBeanCreationError).append('|')
+        .append(autowiring).append('|')
+        .append(profiles);
+    for (final String basePackage : new TreeSet<String>(basePackages)) {
+      configuration.append('|').append(basePackage);
+    }
+    final String key = configuration.toString();
+
+    final WiringPlan cached = ScanCache.plan(key);
+    final WiringPlan plan = new WiringPlan("");
+    if (null != cached && replay(cached, plan)) return this;
+
+    createAllBeans(plan);
+    if (plan.failed.isEmpty()) ScanCache.plan(key, plan);
+    return this;
+  }
+
+  /**
+   * Incremental initialization: scans only base packages which were not scanned yet and resolves their beans together
+   * with pending beans of previous initializations, existing beans are kept as is.
+   *
+   * @return context initialization.
+   */
+  private DaggerokContext findAndRegisterNewBeans() {
+    final List<Constructor> injects = takePending();
+
+    final List<String> added = new ArrayList<String>();
+    for (final String basePackage : basePackages) {
+      if (!scanned.contains(basePackage) && !added.contains(basePackage)) added.add(basePackage);
+    }
+    if (log.isDebugEnabled()) log.debug("incremental initialization of {} and {} pending beans", added, injects.size());
+
+    if (added.isEmpty()) injectConstructorsInstances(injects);
+    else createBeans(finder(added), injects);
+    scanned.addAll(added);
+    return this;
+  }
+
+  /**
+   * @return pending injectors of previous initializations, which beans still don't exist.
+   */
+  private List<Constructor> takePending() {
+    final List<Constructor> injects = new ArrayList<Constructor>();
+    synchronized (pending) {
+      for (final Constructor constructor : pending) {
+        if (null == lookup(constructor.getDeclaringClass().getName())) injects.add(constructor);
+      }
+      pending.clear();
+    }
+    return injects;
+  }
+
+  /**
+   * Creates components and injectors found by finder together with given pending injectors. @{@link Conditional}
+   * components with bean conditions are created last, when all other beans are known, afterwards beans skipped
+   * because of them are resolved once again.
+   *
+   * @param finder configured finder.
+   * @param pendingInjects pending injectors of previous initializations.
+   * @return context initialization.
+   */
+  private DaggerokContext createBeans(final Finder finder, final List<Constructor> pendingInjects) {
+    final List<Constructor> deferred = new ArrayList<Constructor>();
+    createNoArgComponents(enabled(finder.findAllComponentsConstructorsByParameterCountAndEqual(0, true), deferred));
+    final Set<Constructor> injects = new LinkedHashSet<Constructor>(pendingInjects);
+    injects.addAll(enabled(findParametrizedInjectConstructors(finder), deferred));
+    injectConstructorsInstances(new ArrayList<Constructor>(injects));
+    if (deferred.isEmpty()) return this;
+
+    final List<Constructor> noArg = new ArrayList<Constructor>();
+    final List<Constructor> conditional = takePending();
+    for (final Constructor constructor : deferred) {
+      final Class<?> type = constructor.getDeclaringClass();
+      if (!Conditions.beans(type, this)) disabled(type);
+      else if (0 == constructor.getParameterTypes().length) noArg.add(constructor);
+      else conditional.add(constructor);
+    }
+    createNoArgComponents(noArg);
+    injectConstructorsInstances(conditional);
+    return this;
+  }
+
+  /**
+   * Evaluates profiles of @{@link Profile} components as well as property and class conditions of @{@link Conditional}
+   * components before their creation.
+   *
+   * @param constructors found constructors.
+   * @param deferred container of enabled constructors of components with bean conditions.
+   * @return constructors of enabled components without bean conditions.
+   */
+  private List<Constructor> enabled(final List<Constructor> constructors, final List<Constructor> deferred) {
+    final List<Constructor> result = new ArrayList<Constructor>(constructors.size());
+    for (final Constructor constructor : constructors) {
+      final Class<?> type = constructor.getDeclaringClass();
+      if (!active(type)) disabled(type);
+      else if (Conditions.beans(type).length > 0) deferred.add(constructor);
+      else result.add(constructor);
+    }
+    return result;
+  }
+
+  /**
+   * Checks recorded disabled @{@link Conditional} beans: property and class conditions are checked before replay,
+   * bean conditions only after all recorded beans were replayed.
+   *
+   * @param disabled recorded disabled bean names.
+   * @param plan recorder of still disabled beans.
+   * @param withBeanConditions true to check beans with bean conditions, otherwise beans without them.
+   * @return true if any of disabled beans became enabled.
+   */
+  private boolean enabled(final List<String> disabled, final WiringPlan plan, final boolean withBeanConditions) {
+    for (final String name : disabled) {
+      final Class<?> type;
+      try {
+        type = WiringPlan.load(name);
+      }
+      catch (final ClassNotFoundException e) {
+        continue;
+      }
+      if (withBeanConditions != Conditions.beans(type).length > 0) continue;
+      if (!enabled(type)) {
+        plan.disabled(type);
+        continue;
+      }
+      if (log.isDebugEnabled()) log.debug("wiring plan cannot be replayed, bean {} became enabled.", name);
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * @param type component type.
+   * @return true if component profiles are active and all it's conditions are matched.
+   */
+  private boolean enabled(final Class<?> type) {
+    return active(type) && Conditions.beans(type, this);
+  }
+
+  /**
+   * @param type component type.
+   * @return true if component profiles are active and it's property and class conditions are matched.
+   */
+  boolean active(final Class<?> type) {
+    return Conditions.profiles(type, profiles) && Conditions.environment(type);
+  }
+
+  /**
+   * @param type disabled @{@link Conditional} component.
+   */
+  private void disabled(final Class<?> type) {
+    final WiringPlan plan = this.plan;
+    if (null != plan) plan.disabled(type);
+  }
+
+  /**
+   * Regular initialization: scan, resolve and create beans, recording resolved wiring plan.
+   *
+   * @param plan recorder.
+   * @return recorded plan.
+   */
+  private WiringPlan createAllBeans(final WiringPlan plan) {
+    this.plan = plan;
+    try {
+      createBeans(finder(), Collections.<Constructor>emptyList());
+      return plan;
+    }
+    finally {
+      this.plan = null;
+    }
+  }
+
+  /**
+   * Creates beans using recorded constructors in recorded order, without scanning and resolution.
+   *
+   * @param recorded wiring plan with matching fingerprint.
+   * @param plan recorder of replayed beans, so plan is complete even if rest of beans are created regularly.
+   * @return true if whole plan was replayed, otherwise rest of beans must be created by regular initialization: as
+   *         well if any of recorded skipped beans became resolvable (dependencies registered manually or provided by
+   *         parent context) or any of @{@link Conditional} beans became enabled or disabled.
+   */
+  private boolean replay(final WiringPlan recorded, final WiringPlan plan) {
+    if (enabled(recorded.disabled, plan, false)) return false;
+    for (final String[] names : recorded.beans) {
+      if (null != lookup(names[0])) continue;
+      try {
+        final Constructor constructor = WiringPlan.constructor(names);
+        if (!enabled(constructor.getDeclaringClass())) throw new IllegalStateException("disabled");
+        final Object[] params = inject(constructor, names);
+        for (int i = 0; i < params.length; i++) {
+          if (null == params[i]) throw new IllegalStateException("missing " + names[i + 1]);
+        }
+        if (null == instantiate(constructor, params)) throw new IllegalStateException("creation failed");
+        plan.created(constructor);
+      }
+      catch (final Exception e) {
+        if (log.isDebugEnabled()) log.debug("wiring plan cannot be replayed, bean {}: {}", names[0], e.toString());
+        return false;
+      }
+    }
+    if (enabled(recorded.disabled, plan, true)) return false;
+    for (final String[] names : recorded.skipped) {
+      if (null != lookup(names[0])) continue;
+      int resolved = 1;
+      while (resolved < names.length && null != resolve(names[resolved])) resolved++;
+      if (resolved < names.length) continue;
+      if (log.isDebugEnabled()) log.debug("wiring plan cannot be replayed, bean {} became resolvable.", names[0]);
+      return false;
+    }
+    for (final String[] names : recorded.skipped) {
+      if (null != lookup(names[0])) continue;
+      try {
+        skipped(WiringPlan.constructor(names));
+      }
+      catch (final Exception e) {
+        if (log.isDebugEnabled()) log.debug("skipped bean {} will not be pending: {}", names[0], e.toString());
+      }
+    }
+    return true;
+  }
+
   /**
    * Try to find and initialize all no-arg components and injector parameters into context.
    *
@@ -433,28 +1600,18 @@ public class DaggerokContext extends ConcurrentHashMap<Integer, HashSet<Construc
    *   as well as all no-arg parameters of constructor annotated with @{@link Inject}
    * - create new instance and put it into context
    *
-   * @return DaggerokContext
+   * @param constructors found no-arg constructors.
    */
-  private DaggerokContext createNoArgComponents() {
-
-    final List<Constructor> constructors = FinderBuilder
-        .builder()
-        .basePackages(basePackages)
-        .componentAnnotation(componentAnnotation)
-        .injectAnnotation(injectAnnotation)
-        .failOnUnknownReflectionsErrors(failOnUnknownReflectionsErrors)
-        .build()
-        .findAllComponentsConstructorsByParameterCountAndEqual(0, true);
+  private void createNoArgComponents(final List<Constructor> constructors) {
 
     for (final Constructor constructor : constructors) {
 
       final Class<?> type = constructor.getDeclaringClass();
+      if (null != lookup(type.getName())) continue; // already created or manually registered
 
       if (log.isDebugEnabled()) log.debug("injecting {}...", type);
       injectAndRegister(type, constructor);
     }
-
-    return this;
   }
 
   /**
@@ -482,61 +1639,91 @@ public class DaggerokContext extends ConcurrentHashMap<Integer, HashSet<Construc
    *      - throw error and stop context bootstrap
    *      - or skip to next entry depends on fail-on condition configurations
    *
-   * @return context initialization.
+   * @param injects constructors annotated with @Inject with args > 0.
    */
-  private DaggerokContext injectConstructorsInstances() {
+  private void injectConstructorsInstances(final List<Constructor> injects) {
+    final StartupEvents.Event event = events.resolution(injects.size());
+    try {
+      resolveAndCreate(injects);
+    }
+    finally {
+      event.commit();
+    }
+  }
+
+  private void resolveAndCreate(final List<Constructor> injects) {
 
-    final List<Constructor> injects = findParametrizedInjectConstructors();
     final TreeMap<Integer, HashSet<Constructor>> toBeInitialized = getInjectorsMap(injects);
+    final Map<Constructor, Class[]> parameters = new HashMap<Constructor, Class[]>(injects.size() * 2);
+    final Map<Constructor, String[]> keys = new HashMap<Constructor, String[]>(injects.size() * 2);
+    final Map<Constructor, Type[]> lazy = new HashMap<Constructor, Type[]>();
+    final Set<Class> notAutowired = new HashSet<Class>();
     final AtomicInteger beansLeft = new AtomicInteger(countTotalItemsValues(toBeInitialized));
     final AtomicInteger retry = new AtomicInteger(beansLeft.get());
 
+    for (final Constructor constructor : injects) {
+      parameters.put(constructor, constructor.getParameterTypes());
+      keys.put(constructor, TypeKeys.parameters(constructor));
+      final Type[] lazyParameters = LazyProxy.lazyParameters(constructor);
+      if (null != lazyParameters) lazy.put(constructor, lazyParameters);
+    }
+
     while (beansLeft.get() > 0 && retry.get() > 0) {
 
       for (final Map.Entry<Integer, HashSet<Constructor>> parametersCountToInjectors : toBeInitialized.entrySet()) {
 
-        final AtomicInteger beforeCounter = new AtomicInteger(beansLeft.get());
-        final HashSet<Constructor> constructors = parametersCountToInjectors.getValue();
+        final int beforeCounter = beansLeft.get();
+        final Iterator<Constructor> constructors = parametersCountToInjectors.getValue().iterator();
 
-        for (final Constructor constructor : constructors) {
+        while (constructors.hasNext()) {
 
+          final Constructor constructor = constructors.next();
           final Class<?> type = constructor.getDeclaringClass();
 
-          if (null != getBean(type)) // bean already exists in context
-            decrementIfValid(parametersCountToInjectors, constructors, constructor, beansLeft);
+          if (null != lookup(type.getName())) // bean already exists in context
+            decrementIfValid(constructors, beansLeft);
 
-          else {
+          else if (!failed(constructor)) {
 
-            final Class[] parameterTypes = constructor.getParameterTypes();
-            final ArrayList<Object> params = parseParams(parameterTypes);
+            final Object[] params = parseParams(parameters.get(constructor), keys.get(constructor),
+                                                lazy.get(constructor), notAutowired);
 
-            if (params.size() != parameterTypes.length) continue;
-            if (null != injectAndRegister(type, constructor, params.toArray())) // bean was created with injections
-              decrementIfValid(parametersCountToInjectors, constructors, constructor, beansLeft);
+            if (null == params) continue;
+            if (null != injectAndRegister(type, constructor, params)) // bean was created with injections
+              decrementIfValid(constructors, beansLeft);
           }
         }
 
         if (beansLeft.get() < 1) continue; // there are no unresolved beans left for initialization, bye-bye...
-        if (beansLeft.get() == beforeCounter.get()) retry.decrementAndGet(); // nothing changes sins last iteration, retry--
-        beforeCounter.set(beansLeft.get());
+        if (beansLeft.get() == beforeCounter) retry.decrementAndGet(); // nothing changes sins last iteration, retry--
       }
     }
 
-    return this;
+    final WiringPlan plan = this.plan;
+    for (final HashSet<Constructor> unresolved : toBeInitialized.values()) {
+      for (final Constructor constructor : unresolved) {
+        if (null != lookup(constructor.getDeclaringClass().getName()) || failed(constructor)) continue;
+        if (null != plan) plan.skipped(constructor);
+        skipped(constructor);
+      }
+    }
+  }
+
+  /**
+   * @param constructor bean constructor.
+   * @return true if bean creation by given constructor already failed during current initialization.
+   */
+  private boolean failed(final Constructor constructor) {
+    final FailureReport.Recorder failures = this.failures;
+    return null != failures && failures.failed(constructor);
   }
 
   /**
+   * @param finder configured finder.
    * @return list of classes injectors with more than zero arguments.
    */
-  private List<Constructor> findParametrizedInjectConstructors() {
-    final List<Constructor> injects = FinderBuilder
-        .builder()
-        .basePackages(basePackages)
-        .componentAnnotation(componentAnnotation)
-        .injectAnnotation(injectAnnotation)
-        .failOnUnknownReflectionsErrors(failOnUnknownReflectionsErrors)
-        .build()
-        .findAllInjects();
+  private List<Constructor> findParametrizedInjectConstructors(final Finder finder) {
+    final List<Constructor> injects = finder.findAllInjects();
     final Set<Constructor> parametrizedConstructors = new HashSet<Constructor>();
 
     for (final Constructor constructor : injects) {
@@ -573,37 +1760,49 @@ public class DaggerokContext extends ConcurrentHashMap<Integer, HashSet<Construc
     return total;
   }
 
-  private void decrementIfValid(final Map.Entry<Integer, HashSet<Constructor>> entry,
-                                final HashSet<Constructor> constructors,
-                                final Constructor constructor,
-                                final AtomicInteger counter) {
-
-    final HashSet<Constructor> updated = new HashSet<Constructor>(constructors);
-    updated.remove(constructor);
-    entry.setValue(updated);
+  private void decrementIfValid(final Iterator<Constructor> constructors, final AtomicInteger counter) {
+    constructors.remove();
     counter.decrementAndGet();
   }
 
   /**
+   * Resolves all parameters or nothing: nothing is allocated while any of parameters is not available yet.
+   *
    * @param parameterTypes bean types.
-   * @return beans from application context according to it's type.
-   */
-  private ArrayList<Object> parseParams(final Class[] parameterTypes) {
-    final ArrayList<Object> params = new ArrayList<Object>();
-    for (final Class<?> type : parameterTypes) {
-      final Object bean = getBean(type);
-      if (null != bean) params.add(bean);
-      else for (final Constructor constructor : type.getConstructors()) {
-        if (0 != constructor.getParameterTypes().length) continue;
-        final Object instance = injectAndRegister(type, constructor);
-        if (null == instance) continue;
-        params.add(getBean(type));
-        break;
-      }
+   * @param keys parameters keys: bean names or generic keys of parametrized types, see {@link TypeKeys}.
+   * @param lazy lazy parameters types or null, lazy parameters are never waited for.
+   * @param notAutowired types without public no-arg constructor or failed ones, which are never created implicitly.
+   * @return beans from application context according to it's type or null if any of them is missing.
+   */
+  private Object[] parseParams(final Class[] parameterTypes, final String[] keys, final Type[] lazy,
+                               final Set<Class> notAutowired) {
+    for (int i = 0; i < parameterTypes.length; i++) {
+      if (null != lazy && null != lazy[i]) continue;
+      if (null == resolve(keys[i]) && !autowire(parameterTypes[i], notAutowired)) return null;
+    }
+    final Object[] params = new Object[parameterTypes.length];
+    for (int i = 0; i < parameterTypes.length; i++) {
+      params[i] = null != lazy && null != lazy[i] ? lazy(lazy[i]) : resolve(keys[i]);
     }
     return params;
   }
 
+  /**
+   * Creates and registers bean of not scanned type using it's public no-arg constructor, if autowiring policy allows.
+   *
+   * @param type bean type.
+   * @param notAutowired types without public no-arg constructor or failed ones, attempted only once.
+   * @return true if bean was created.
+   */
+  private boolean autowire(final Class<?> type, final Set<Class> notAutowired) {
+    if (notAutowired.contains(type)) return false;
+    for (final Constructor constructor : noArgConstructors(type)) {
+      if (null != injectAndRegister(type, constructor)) return true;
+    }
+    notAutowired.add(type);
+    return false;
+  }
+
   /**
    * Internal: create bean instance.
    * Will throw {@link NullPointerException} if bean is null and failOnInjectNullRef enabled.
@@ -612,16 +1811,18 @@ public class DaggerokContext extends ConcurrentHashMap<Integer, HashSet<Construc
    * @param constructor constructor to be used for bean creation.
    * @param params parameters to be pass in constructor.
    * @param <T> could be any class.
-   * @return registered bean or throw exception according to failOnInjectNullRef and failOnUnknownReflectionsErrors
-   *         configurations.
+   * @return registered bean, null if creation failed, or throw exception according to failOnInjectNullRef and
+   *         failOnUnknownReflectionsErrors configurations.
    */
   private <T> T injectAndRegister(final Class<T> type, final Constructor constructor, final Object... params) {
 
     final Object instance = newInstance(constructor, params);
     final Object bean = type.cast(instance);
+    final WiringPlan plan = this.plan;
 
     if (null == bean) {
 
+      if (null != plan) plan.failed(type);
       if (failOnInjectNullRef) {
         final BeanNotFoundException exception = new BeanNotFoundException(type);
         log.error(exception.getLocalizedMessage(), exception);
@@ -629,29 +1830,136 @@ public class DaggerokContext extends ConcurrentHashMap<Integer, HashSet<Construc
       }
 
       if (log.isDebugEnabled()) log.debug("Injecting bean {} and was resulted in null.", type.getName());
+      return null;
+    }
+
+    if (bean == registerIfAbsent(constructor, bean) && null != plan) plan.created(constructor);
+    dependsOn(type, constructor);
+    return type.cast(lookup(type.getName()));
+  }
+
+  /**
+   * Registers created bean in it's scope: @{@link Evictable} or singleton.
+   *
+   * @param constructor constructor bean was created by.
+   * @param instance created bean instance.
+   * @return registered bean.
+   */
+  private Object registerIfAbsent(final Constructor constructor, final Object instance) {
+    final Class<?> type = constructor.getDeclaringClass();
+    if (!type.isAnnotationPresent(Evictable.class)) return registerIfAbsent(type.getName(), instance);
+    requireNonNull(instance, "instance");
+    final Object manual = beans.get(type.getName());
+    return null != manual ? manual : evictables.registerIfAbsent(type.getName(), constructor, instance);
+  }
+
+  /**
+   * Registers created bean unless bean with same name was registered concurrently.
+   *
+   * @param beanName FQDN class name.
+   * @param instance created bean instance.
+   * @return registered bean.
+   */
+  private Object registerIfAbsent(final String beanName, final Object instance) {
+    requireNonNull(instance, "instance");
+    final Object existing = beans.putIfAbsent(beanName, instance);
+    if (null != existing) return existing;
+    registrations.incrementAndGet();
+    return instance;
+  }
+
+  /**
+   * Re-creates inherited bean in this context after it's rebuilt dependencies.
+   *
+   * @param name bean name.
+   * @param inherited parent beans dependencies.
+   * @param dependents beans left to be rebuilt.
+   */
+  private void rebuild(final String name, final Map<String, String[]> inherited, final Set<String> dependents) {
+    if (beans.containsKey(name)) return;
+    final String[] dependencies = inherited.containsKey(name) ? inherited.get(name) : new String[0];
+    final String[] names = new String[dependencies.length + 1];
+    names[0] = name;
+    for (int i = 0; i < dependencies.length; i++) {
+      if (dependents.contains(dependencies[i])) rebuild(dependencies[i], inherited, dependents);
+      names[i + 1] = dependencies[i];
+    }
+    try {
+      final Constructor constructor = WiringPlan.constructor(names);
+      final Object[] params = inject(constructor, names);
+      if (null == instantiate(constructor, params)) log.warn("bean {} wasn't rebuilt.", name);
     }
+    catch (final ClassNotFoundException e) {
+      throw new IllegalStateException("bean " + name + " cannot be rebuilt.", e);
+    }
+    catch (final NoSuchMethodException e) {
+      throw new IllegalStateException("bean " + name + " cannot be rebuilt.", e);
+    }
+  }
 
-    register(type.getName(), bean);
-    return getBean(type);
+  /**
+   * @param constructor bean constructor.
+   * @param names bean name followed by parameter bean names.
+   * @return beans to be injected, missing beans are nulls.
+   */
+  private Object[] inject(final Constructor constructor, final String[] names) {
+    final Type[] lazy = LazyProxy.lazyParameters(constructor);
+    final Object[] params = new Object[names.length - 1];
+    for (int i = 0; i < params.length; i++) {
+      params[i] = null != lazy && null != lazy[i] ? lazy(lazy[i]) : resolve(names[i + 1]);
+    }
+    return params;
   }
 
   /**
-   * Creates new instance using constructor and reflection.
+   * Remember which beans was injected into bean to destroy them in reverse order. Warns about injected
+   * @{@link Evictable} beans: dependent keeps using evicted instance, which was already destroyed.
+   *
+   * @param type bean type.
+   * @param constructor constructor was used for bean creation.
+   */
+  private void dependsOn(final Class<?> type, final Constructor constructor) {
+    final String[] keys = TypeKeys.parameters(constructor);
+    if (0 == keys.length) return;
+    final String[] names = new String[keys.length];
+    for (int i = 0; i < keys.length; i++) {
+      names[i] = name(keys[i]);
+      if (evictable(names[i]))
+        log.warn("bean {} keeps evictable bean {}, which is destroyed on eviction: inject javax.inject.Provider of it.",
+                 type.getName(), names[i]);
+    }
+    dependencies.put(type.getName(), names);
+  }
+
+  /**
+   * Creates new instance using constructor and reflection and invokes it's @{@link PostConstruct} callbacks.
    *
    * @param constructor constructor to be used for bean instantiation.
    * @param parameters constructor parameters. If not present or null - NoArgConstructor will be used.
-   * @return new bean instance.
+   * @return new bean instance or null if creation failed, now or previously during current initialization.
    */
   @SuppressWarnings("unchecked")
   private Object newInstance(final Constructor constructor, final Object... parameters) {
+    final FailureReport.Recorder failures = this.failures;
+    if (null != failures && failures.failed(constructor)) return null;
+    final int parametersCount = null == parameters ? 0 : parameters.length;
+    final StartupEvents.Event event = events.construction(constructor.getDeclaringClass(), parametersCount);
+    final long start = System.nanoTime();
     try {
 
-      return constructor.newInstance(parameters);
+      final Object instance = constructor.newInstance(parameters);
+      Lifecycles.postConstruct(instance);
+      final LookupMetrics metrics = this.metrics;
+      if (null != metrics) metrics.created(constructor.getDeclaringClass().isAnnotationPresent(Evictable.class)
+                                               ? Evictables.SCOPE : LookupMetrics.SINGLETON, System.nanoTime() - start);
+      return instance;
 
     } catch (final Throwable e) {
 
       final Class type = constructor.getDeclaringClass();
 
+      event.failed();
+      if (null != failures) failures.failed(constructor, e);
       if (log.isDebugEnabled()) log.debug("Creation bean {} failed: {}", type.getName(), e.getLocalizedMessage());
       if (!failOnBeanCreationError) return null;
 
@@ -659,5 +1967,8 @@ public class DaggerokContext extends ConcurrentHashMap<Integer, HashSet<Construc
       log.error("Bean instance '{}' creation with parameters '{}' failed.", type.getName(), parameters, error);
       throw error;
     }
+    finally {
+      event.commit();
+    }
   }
 }
@@ -0,0 +1,30 @@
+package daggerok.context;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks large rebuildable component (lookup tables, in-memory indexes), which must not stay resident forever.
+ *
+ * Bean is held through soft reference, so it's evicted when JVM is running out of memory, as well as after idle
+ * timeout or if there are more resident evictable beans than {@link DaggerokContext#withMaxResidentEvictables(int)}.
+ * Evicted bean is transparently rebuilt by the same constructor on next getBean. Eviction calls @PreDestroy
+ * callbacks, so dependents must not keep bean itself: directly injected evictable bean is used after it's destroyed
+ * and is never collected (context warns about such dependents). Inject javax.inject.Provider of it instead:
+ *
+ *   &#64;Inject
+ *   public MyService(final Provider&lt;MyIndex&gt; myIndex) { ... }
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Evictable {
+
+  /**
+   * @return seconds bean may stay not used before it's evicted, 0 means no idle timeout.
+   */
+  long idleSeconds() default 0;
+}
@@ -0,0 +1,175 @@
+package daggerok.context;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.ref.SoftReference;
+import java.lang.reflect.Constructor;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Beans of @{@link Evictable} scope: held through soft references, evicted after idle timeout or when there are more
+ * resident beans than configured maximum (least recently used first), and rebuilt by the same constructor on next
+ * lookup.
+ */
+class Evictables {
+
+  static final String SCOPE = "evictable";
+
+  private static final Logger log = LoggerFactory.getLogger(Evictables.class);
+  private static final long SWEEP_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+  private static final SoftReference<Object> EVICTED = new SoftReference<Object>(null);
+
+  private final DaggerokContext context;
+  private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<String, Entry>();
+  private volatile int maxResident = Integer.MAX_VALUE;
+  private volatile long lastSweep = System.nanoTime();
+
+  Evictables(final DaggerokContext context) {
+    this.context = context;
+  }
+
+  /**
+   * @param maxResident maximum amount of resident beans.
+   */
+  void maxResident(final int maxResident) {
+    this.maxResident = maxResident;
+    evictOverBudget(null);
+  }
+
+  /**
+   * @param name bean name.
+   * @param constructor constructor bean was created by and will be rebuilt by.
+   * @param bean created bean.
+   * @return registered bean.
+   */
+  Object registerIfAbsent(final String name, final Constructor constructor, final Object bean) {
+    final Evictable evictable = ((Class<?>) constructor.getDeclaringClass()).getAnnotation(Evictable.class);
+    final Entry entry = new Entry(name, constructor, TimeUnit.SECONDS.toNanos(evictable.idleSeconds()), bean);
+    final Entry existing = entries.putIfAbsent(name, entry);
+    if (null != existing) return existing.get();
+    evictOverBudget(entry);
+    return bean;
+  }
+
+  /**
+   * @param name bean name.
+   * @return bean, which is rebuilt if it was evicted, or null if there is no such evictable bean.
+   */
+  Object get(final String name) {
+    final Entry entry = entries.get(name);
+    if (null == entry) return null;
+    sweep();
+    return entry.get();
+  }
+
+  /**
+   * @param name bean name.
+   * @return true if bean with given name is registered in scope, resident or not.
+   */
+  boolean contains(final String name) {
+    return entries.containsKey(name);
+  }
+
+  int size() {
+    return entries.size();
+  }
+
+  /**
+   * @return resident beans, which must be destroyed on context close.
+   */
+  Map<String, Object> clear() {
+    final Map<String, Object> resident = new HashMap<String, Object>();
+    for (final Entry entry : entries.values()) {
+      final Object bean = entry.reference.get();
+      if (null != bean) resident.put(entry.name, bean);
+    }
+    entries.clear();
+    return resident;
+  }
+
+  /* private API */
+
+  private void sweep() {
+    final long now = System.nanoTime();
+    if (now - lastSweep < SWEEP_INTERVAL_NANOS) return;
+    lastSweep = now;
+    for (final Entry entry : entries.values()) {
+      if (entry.idleNanos > 0 && now - entry.lastAccess > entry.idleNanos) entry.evict("idle");
+    }
+  }
+
+  private void evictOverBudget(final Entry keep) {
+    while (true) {
+      int resident = 0;
+      Entry eldest = null;
+      for (final Entry entry : entries.values()) {
+        if (null == entry.reference.get()) continue;
+        resident++;
+        if (entry != keep && (null == eldest || entry.lastAccess - eldest.lastAccess < 0)) eldest = entry;
+      }
+      if (resident <= maxResident || null == eldest) return;
+      eldest.evict("budget");
+    }
+  }
+
+  private class Entry {
+
+    private final String name;
+    private final Constructor constructor;
+    private final long idleNanos;
+    private volatile SoftReference<Object> reference;
+    private volatile long lastAccess = System.nanoTime();
+
+    private Entry(final String name, final Constructor constructor, final long idleNanos, final Object bean) {
+      this.name = name;
+      this.constructor = constructor;
+      this.idleNanos = idleNanos;
+      this.reference = new SoftReference<Object>(bean);
+    }
+
+    private Object get() {
+      lastAccess = System.nanoTime();
+      final Object bean = reference.get();
+      return null != bean ? bean : rebuild();
+    }
+
+    private synchronized Object rebuild() {
+      final SoftReference<Object> current = reference;
+      final Object resident = current.get();
+      if (null != resident) return resident; // rebuilt concurrently
+
+      if (EVICTED != current) evicted("memory");
+      final Object bean = context.rebuild(constructor);
+      if (null == bean) return null;
+      reference = new SoftReference<Object>(bean);
+      final LookupMetrics metrics = context.metrics();
+      if (null != metrics) metrics.rebuilt();
+      if (log.isDebugEnabled()) log.debug("evictable bean {} was rebuilt.", name);
+      evictOverBudget(this);
+      return bean;
+    }
+
+    private synchronized void evict(final String reason) {
+      final Object bean = reference.get();
+      reference = EVICTED;
+      if (null == bean) return;
+      evicted(reason);
+      try {
+        Lifecycles.preDestroy(bean);
+      }
+      catch (final Exception e) {
+        log.warn("evicted bean {} destroy failed: {}", name, e.getLocalizedMessage());
+      }
+    }
+
+    private void evicted(final String reason) {
+      final LookupMetrics metrics = context.metrics();
+      if (null != metrics) metrics.evicted();
+      if (log.isDebugEnabled()) log.debug("evictable bean {} was evicted: {}", name, reason);
+    }
+  }
+}
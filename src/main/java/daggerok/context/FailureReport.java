@@ -0,0 +1,184 @@
+package daggerok.context;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Beans creation failures of last initialization, available by {@link DaggerokContext#getFailureReport()}.
+ *
+ * Contains for each failed bean type:
+ *
+ * - cause of construction failure
+ * - dependents which were skipped, because they are directly or transitively depend on failed bean
+ *
+ *   final FailureReport report = applicationContext.initialize().getFailureReport();
+ *   if (!report.isEmpty()) System.err.println(report);
+ */
+public class FailureReport {
+
+  private final List<Failure> failures;
+
+  private FailureReport(final List<Failure> failures) {
+    this.failures = Collections.unmodifiableList(failures);
+  }
+
+  /**
+   * @return failures ordered by bean type name.
+   */
+  public List<Failure> getFailures() {
+    return failures;
+  }
+
+  /**
+   * @return true if all attempted beans were created.
+   */
+  public boolean isEmpty() {
+    return failures.isEmpty();
+  }
+
+  /**
+   * @return human readable summary.
+   */
+  @Override
+  public String toString() {
+    final StringBuilder result = new StringBuilder("FailureReport");
+    for (final Failure failure : failures) {
+      result.append("\n  ").append(failure.type).append(": ").append(failure.cause);
+      if (!failure.skippedDependents.isEmpty()) result.append("\n    skipped: ").append(failure.skippedDependents);
+    }
+    return result.toString();
+  }
+
+  /**
+   * Failed bean construction.
+   */
+  public static class Failure {
+
+    private final String type;
+    private final Throwable cause;
+    private final List<String> skippedDependents;
+
+    private Failure(final String type, final Throwable cause, final List<String> skippedDependents) {
+      this.type = type;
+      this.cause = cause;
+      this.skippedDependents = Collections.unmodifiableList(skippedDependents);
+    }
+
+    /**
+     * @return failed bean type name.
+     */
+    public String getType() {
+      return type;
+    }
+
+    /**
+     * @return first construction error, thrown by constructor or @PostConstruct callback.
+     */
+    public Throwable getCause() {
+      return cause;
+    }
+
+    /**
+     * @return names of beans which were not created because of this failure, ordered by name.
+     */
+    public List<String> getSkippedDependents() {
+      return skippedDependents;
+    }
+
+    @Override
+    public String toString() {
+      return type + ": " + cause;
+    }
+  }
+
+  /**
+   * Remembers failures during initialization, so each failing constructor is invoked only once, and builds report.
+   */
+  static class Recorder {
+
+    private final ConcurrentHashMap<Constructor, Throwable> constructors =
+        new ConcurrentHashMap<Constructor, Throwable>();
+    private final Map<String, Throwable> types = new TreeMap<String, Throwable>();
+    private final Map<String, String[]> skipped = new HashMap<String, String[]>();
+
+    /**
+     * @param constructor bean constructor.
+     * @return true if bean creation by given constructor was already failed.
+     */
+    boolean failed(final Constructor constructor) {
+      return constructors.containsKey(constructor);
+    }
+
+    /**
+     * @param constructor bean constructor.
+     * @param error construction error.
+     */
+    void failed(final Constructor constructor, final Throwable error) {
+      final Throwable cause = error instanceof InvocationTargetException && null != error.getCause()
+          ? error.getCause() : error;
+      constructors.putIfAbsent(constructor, cause);
+      synchronized (types) {
+        final String type = constructor.getDeclaringClass().getName();
+        if (!types.containsKey(type)) types.put(type, cause);
+      }
+    }
+
+    /**
+     * @param constructor constructor of bean, which wasn't created because of missing dependencies.
+     */
+    void skipped(final Constructor constructor) {
+      final List<String> names = Arrays.asList(WiringPlan.names(constructor));
+      synchronized (skipped) {
+        final String[] previous = skipped.get(names.get(0));
+        final Set<String> dependencies = new LinkedHashSet<String>();
+        if (null != previous) dependencies.addAll(Arrays.asList(previous));
+        dependencies.addAll(names.subList(1, names.size()));
+        skipped.put(names.get(0), dependencies.toArray(new String[dependencies.size()]));
+      }
+    }
+
+    /**
+     * @param context initialized context: beans finally created by other constructor are not failed.
+     * @return failure report.
+     */
+    FailureReport report(final DaggerokContext context) {
+      final Map<String, Throwable> failed;
+      final Map<String, String[]> unresolved;
+      synchronized (types) {
+        failed = new TreeMap<String, Throwable>(types);
+      }
+      synchronized (skipped) {
+        unresolved = new HashMap<String, String[]>(skipped);
+      }
+      final Iterator<String> names = failed.keySet().iterator();
+      while (names.hasNext()) {
+        if (null != context.lookup(names.next())) names.remove(); // created by other constructor
+      }
+      unresolved.keySet().removeAll(failed.keySet());
+
+      final List<Failure> result = new ArrayList<Failure>(failed.size());
+      for (final Map.Entry<String, Throwable> failure : failed.entrySet()) {
+        final Set<String> dependents = new TreeSet<String>();
+        for (final String name : unresolved.keySet()) {
+          if (null == context.lookup(name) && dependsOn(name, failure.getKey(), unresolved, new HashSet<String>()))
+            dependents.add(name);
+        }
+        result.add(new Failure(failure.getKey(), failure.getValue(), new ArrayList<String>(dependents)));
+      }
+      return new FailureReport(result);
+    }
+
+    private static boolean dependsOn(final String name, final String failed, final Map<String, String[]> unresolved,
+                                     final Set<String> visited) {
+      if (!visited.add(name)) return false;
+      final String[] dependencies = unresolved.get(name);
+      if (null == dependencies) return false;
+      for (final String dependency : dependencies) {
+        if (failed.equals(dependency) || dependsOn(dependency, failed, unresolved, visited)) return true;
+      }
+      return false;
+    }
+  }
+}
@@ -51,11 +51,23 @@ class Finders {
       return this;
     }
 
+    FinderBuilder scanCache(final boolean scanCache) {
+      finder.scanCache = scanCache;
+      return this;
+    }
+
+    FinderBuilder events(final StartupEvents events) {
+      finder.events = events;
+      return this;
+    }
+
     Finder build() {
       requireNonNull(finder.basePackages, "finder.basePackages", log);
       requireNonNull(finder.componentAnnotation, "finder.componentAnnotation", log);
       requireNonNull(finder.injectAnnotation, "finder.injectAnnotation", log);
       requireNonNull(finder.failOnUnknownReflectionsErrors, "finder.failOnUnknownReflectionsErrors", log);
+      requireNonNull(finder.scanCache, "finder.scanCache", log);
+      requireNonNull(finder.events, "finder.events", log);
       return finder;
     }
   }
@@ -67,13 +79,16 @@ class Finders {
     private Class<? extends Annotation> componentAnnotation = null;
     private Class<? extends Annotation> injectAnnotation = null;
     private Boolean failOnUnknownReflectionsErrors = null;
+    private Boolean scanCache = false;
+    private StartupEvents events = StartupEvents.NONE;
 
     private Finder() {}
 
     /* reflections vendor API */
 
     /**
-     * Search base package beans scan for injectors constructors.
+     * Search base package beans scan for injectors constructors. Base packages scanned before (by any context) are
+     * taken from {@link ScanCache} if enabled.
      *
      * @return list of classes injectors containing constructors annotated with @{@link Inject}
      * or it's injectAnnotation replacement.
@@ -83,11 +98,19 @@ class Finders {
       final MethodAnnotationsScanner scanner = new MethodAnnotationsScanner();
       final Set<Constructor> injects = new HashSet<Constructor>();
       for (final String basePackage : basePackages) {
+        final List<Constructor> cached = scanCache ? ScanCache.injects(basePackage, injectAnnotation) : null;
+        if (null != cached) {
+          injects.addAll(cached);
+          continue;
+        }
+        final StartupEvents.Event event = events.scan(basePackage, injectAnnotation);
         try {
           if (log.isDebugEnabled()) log.debug("processing package '{}' for {} injectors",
                                               basePackage, injectAnnotation.getName());
           final Reflections reflections = new Reflections(basePackage, scanner);
-          injects.addAll(reflections.getConstructorsAnnotatedWith(injectAnnotation));
+          final Set<Constructor> found = reflections.getConstructorsAnnotatedWith(injectAnnotation);
+          if (scanCache) ScanCache.injects(basePackage, injectAnnotation, found);
+          injects.addAll(found);
         }
         catch (final Throwable e) {
           if (log.isDebugEnabled()) log.debug("Reflections filed: {}", e.getLocalizedMessage());
@@ -95,12 +118,16 @@ class Finders {
           log.error(e.getLocalizedMessage(), e);
           throw new Exceptions.WrappedReflectionsException(e);
         }
+        finally {
+          event.commit();
+        }
       }
       return new ArrayList<Constructor>(injects);
     }
 
     /**
-     * Search for beans scan component classes.
+     * Search for beans scan component classes. Base packages scanned before (by any context) are taken from
+     * {@link ScanCache} if enabled.
      *
      * @return list of component classes annotated with @{@link Singleton} or it's componentAnnotation replacement
      */
@@ -108,12 +135,20 @@ class Finders {
       requireNotEmpty(basePackages, "list of base packages may not be empty.", log);
       final Set<Class> components = new HashSet<Class>();
       for (final String basePackage : basePackages) {
+        final List<Class> cached = scanCache ? ScanCache.components(basePackage, componentAnnotation) : null;
+        if (null != cached) {
+          components.addAll(cached);
+          continue;
+        }
+        final StartupEvents.Event event = events.scan(basePackage, componentAnnotation);
         try {
           if (log.isDebugEnabled()) log.debug("processing package '{}' for {} components",
                                               basePackage, componentAnnotation.getName());
           final Reflections reflections = new Reflections(basePackage);
           // Searching all @Singleton classes
-          components.addAll(reflections.getTypesAnnotatedWith(componentAnnotation));
+          final Set<Class<?>> found = reflections.getTypesAnnotatedWith(componentAnnotation);
+          if (scanCache) ScanCache.components(basePackage, componentAnnotation, found);
+          components.addAll(found);
         }
         catch (final Throwable e) {
           if (log.isDebugEnabled()) log.debug("Reflections filed: {}", e.getLocalizedMessage());
@@ -121,6 +156,9 @@ class Finders {
           log.error(e.getLocalizedMessage(), e);
           throw new Exceptions.WrappedReflectionsException(e);
         }
+        finally {
+          event.commit();
+        }
       }
       return new ArrayList<Class>(components);
     }
@@ -138,6 +176,7 @@ class Finders {
       final Set<Constructor> constructors = new HashSet<Constructor>();
 
       for (final Class component : findAllComponents()) {
+        events.reflectiveCall();
         allConstructors.addAll(Arrays.asList(component.getConstructors()));
       }
 
@@ -0,0 +1,46 @@
+package daggerok.context;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+
+/**
+ * Parametrized bean type, captured by anonymous subclass, see {@link DaggerokContext#register(GenericType, Object)}
+ * and {@link DaggerokContext#getBean(GenericType)}.
+ *
+ *   final GenericType&lt;Repository&lt;User&gt;&gt; users = new GenericType&lt;Repository&lt;User&gt;&gt;() {};
+ *
+ * @param <T> parametrized type without type variables.
+ */
+public abstract class GenericType<T> {
+
+  private final Type type;
+  private final String key;
+
+  protected GenericType() {
+    final Type superclass = getClass().getGenericSuperclass();
+    if (!(superclass instanceof ParameterizedType))
+      throw new IllegalStateException("generic type " + getClass().getName() + " has no type argument");
+    this.type = ((ParameterizedType) superclass).getActualTypeArguments()[0];
+    this.key = TypeKeys.key(type);
+    if (null == key) throw new IllegalArgumentException("generic type " + type + " is not resolvable");
+  }
+
+  /**
+   * @return captured type.
+   */
+  public Type getType() {
+    return type;
+  }
+
+  /**
+   * @return canonical key, which bean is registered and looked up by.
+   */
+  String key() {
+    return key;
+  }
+
+  @Override
+  public String toString() {
+    return key;
+  }
+}
@@ -0,0 +1,235 @@
+package daggerok.context;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLDecoder;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Development mode: reloads changed classes of base packages without JVM restart.
+ *
+ * flow:
+ *
+ * - find compiled classes directories of base packages (jar files are never watched)
+ * - poll class files modification times using daemon thread
+ * - load changed bean classes and all classes of their dependents in new child-first class loader, parented to loader
+ *   of previous reload, so classes reloaded before are not resolved from their stale originals
+ * - re-create affected beans in dependency order, everything else stays intact
+ *
+ * Reloaded bean is instance of new class: it must be used by it's interface or looked up by name, otherwise
+ * {@link ClassCastException} is thrown. Reloaded classes are in other runtime package than not reloaded ones, so they
+ * may use only public members of each other.
+ */
+class HotReload implements Runnable {
+
+  private static final Logger log = LoggerFactory.getLogger(HotReload.class);
+  private static final String CLASS = ".class";
+
+  private final DaggerokContext context;
+  private final long intervalMillis;
+  private final Map<File, File> directories = new LinkedHashMap<File, File>(); // package directory to classes root
+  private final Map<File, Long> modified = new HashMap<File, Long>();
+  private ClassLoader classLoader = HotReload.class.getClassLoader();
+  private volatile Thread thread = null;
+  private volatile boolean stopped = false;
+
+  HotReload(final DaggerokContext context, final long interval, final TimeUnit unit) {
+    this.context = context;
+    this.intervalMillis = Math.max(1, unit.toMillis(interval));
+  }
+
+  /**
+   * Starts watching, if it's not started yet.
+   *
+   * @param basePackages base packages to be watched.
+   */
+  void start(final List<String> basePackages) {
+    if (null != thread) return; // already started, poll() may be waiting for context initialization lock
+    synchronized (this) {
+      start(basePackages, Thread.currentThread().getContextClassLoader());
+    }
+  }
+
+  void stop() {
+    stopped = true;
+    final Thread watcher = thread;
+    if (null != watcher) watcher.interrupt();
+  }
+
+  public void run() {
+    while (!stopped) {
+      try {
+        Thread.sleep(intervalMillis);
+        poll();
+      }
+      catch (final InterruptedException e) {
+        return;
+      }
+      catch (final RuntimeException e) {
+        log.warn("hot reload failed: {}", e.toString());
+      }
+    }
+  }
+
+  /**
+   * Reloads beans of changed classes, if any.
+   *
+   * @return names of reloaded beans.
+   */
+  synchronized Set<String> poll() {
+    final List<String> changed = new ArrayList<String>();
+    snapshot(changed);
+    if (changed.isEmpty()) return Collections.emptySet();
+
+    final Set<String> classNames = new HashSet<String>();
+    for (final String name : changed) {
+      final int nested = name.indexOf('$');
+      classNames.add(nested < 0 ? name : name.substring(0, nested));
+    }
+
+    final Loader loader = new Loader(classLoader);
+    final Set<String> reloaded = context.reload(classNames, loader);
+    if (reloaded.isEmpty()) {
+      log.warn("changed classes {} are not beans, restart is required.", classNames);
+      return reloaded;
+    }
+    classLoader = loader; // next reload resolves previously reloaded classes from it
+    log.info("reloaded beans: {}", reloaded);
+    return reloaded;
+  }
+
+  /* private API */
+
+  private void start(final List<String> basePackages, final ClassLoader contextClassLoader) {
+    if (null != thread || stopped) return;
+    if (null != contextClassLoader) classLoader = contextClassLoader;
+    for (final String basePackage : basePackages) {
+      directories(basePackage);
+    }
+    snapshot(new ArrayList<String>());
+    final Thread watcher = new Thread(this, "daggerok-hot-reload");
+    watcher.setDaemon(true);
+    thread = watcher;
+    watcher.start();
+    if (log.isDebugEnabled()) log.debug("watching {}", directories.keySet());
+  }
+
+  private void directories(final String basePackage) {
+    final String path = basePackage.replace('.', '/');
+    try {
+      final Enumeration<URL> resources = classLoader.getResources(path);
+      while (resources.hasMoreElements()) {
+        final URL url = resources.nextElement();
+        if (!"file".equals(url.getProtocol())) continue;
+        final File directory = new File(URLDecoder.decode(url.getPath(), "UTF-8"));
+        File root = directory;
+        for (final String segment : path.split("/")) {
+          if (segment.length() > 0 && null != root) root = root.getParentFile();
+        }
+        if (directory.isDirectory() && null != root) directories.put(directory, root);
+      }
+    }
+    catch (final IOException e) {
+      log.warn("base package {} cannot be watched: {}", basePackage, e.toString());
+    }
+  }
+
+  private void snapshot(final List<String> changed) {
+    for (final Map.Entry<File, File> directory : directories.entrySet()) {
+      snapshot(directory.getKey(), directory.getValue(), changed);
+    }
+  }
+
+  private void snapshot(final File directory, final File root, final List<String> changed) {
+    final File[] files = directory.listFiles();
+    if (null == files) return;
+    for (final File file : files) {
+      if (file.isDirectory()) {
+        if (!directories.containsKey(file)) snapshot(file, root, changed);
+        continue;
+      }
+      if (!file.getName().endsWith(CLASS)) continue;
+      final long lastModified = file.lastModified();
+      final Long previous = modified.put(file, lastModified);
+      if (null != previous && previous == lastModified) continue;
+      final String relative = file.getPath().substring(root.getPath().length() + 1);
+      changed.add(relative.substring(0, relative.length() - CLASS.length()).replace(File.separatorChar, '.'));
+    }
+  }
+
+  private File find(final String className) {
+    final String relative = className.replace('.', File.separatorChar) + CLASS;
+    for (final File root : directories.values()) {
+      final File file = new File(root, relative);
+      if (file.isFile()) return file;
+    }
+    return null;
+  }
+
+  /**
+   * Child-first class loader of reloaded classes (and their nested classes), everything else is delegated to
+   * parent, so not affected beans and their types are shared.
+   */
+  class Loader extends ClassLoader {
+
+    private final Set<String> reloaded = Collections.synchronizedSet(new HashSet<String>());
+
+    private Loader(final ClassLoader parent) {
+      super(parent);
+    }
+
+    /**
+     * @param className bean class name to be loaded by this class loader.
+     */
+    void reload(final String className) {
+      reloaded.add(className);
+    }
+
+    @Override
+    protected synchronized Class<?> loadClass(final String name, final boolean resolve) throws ClassNotFoundException {
+      final int nested = name.indexOf('$');
+      if (!reloaded.contains(nested < 0 ? name : name.substring(0, nested))) return super.loadClass(name, resolve);
+
+      Class<?> type = findLoadedClass(name);
+      if (null == type) type = findClass(name);
+      if (resolve) resolveClass(type);
+      return type;
+    }
+
+    @Override
+    protected Class<?> findClass(final String name) throws ClassNotFoundException {
+      final File file = find(name);
+      if (null == file) throw new ClassNotFoundException(name);
+      try {
+        final byte[] bytes = read(file);
+        return defineClass(name, bytes, 0, bytes.length);
+      }
+      catch (final IOException e) {
+        throw new ClassNotFoundException(name, e);
+      }
+    }
+
+    private byte[] read(final File file) throws IOException {
+      final InputStream input = new FileInputStream(file);
+      try {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream((int) file.length());
+        final byte[] buffer = new byte[8192];
+        for (int read = input.read(buffer); read >= 0; read = input.read(buffer)) {
+          output.write(buffer, 0, read);
+        }
+        return output.toByteArray();
+      }
+      finally {
+        input.close();
+      }
+    }
+  }
+}
@@ -0,0 +1,24 @@
+package daggerok.context;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks injector constructor parameter of interface type, which must not be resolved during bean creation.
+ *
+ * If dependency wasn't created yet, proxy is injected instead: real bean is looked up (or created by asynchronous
+ * initialization) on first method call, exactly once. So bean doesn't wait for it's heavy dependencies and they are
+ * not on startup critical path anymore. Lazy dependencies could be cyclic.
+ *
+ *   &#64;Inject
+ *   public MyService(final MyRepository myRepository, &#64;Lazy final ReportGenerator reportGenerator) { ... }
+ *
+ * Parameters of non-interface types are injected as usual.
+ */
+@Documented
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Lazy {}
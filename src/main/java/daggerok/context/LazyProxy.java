@@ -0,0 +1,116 @@
+package daggerok.context;
+
+import daggerok.context.Exceptions.BeanNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Provider;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
+
+/**
+ * JDK dynamic proxy of @{@link Lazy} injected dependency, as well as lazy injection points resolution.
+ *
+ * Real bean is resolved on first method call only once (double-checked locking), afterwards every call is dispatched
+ * straight to it: bean registered by interface name, otherwise the only bean implementing interface. @{@link Evictable}
+ * beans are never pinned by proxy: they are looked up on every call.
+ */
+class LazyProxy implements InvocationHandler {
+
+  private static final Logger log = LoggerFactory.getLogger(LazyProxy.class);
+
+  private final DaggerokContext context;
+  private final Class<?> type;
+  private volatile Object target = null;
+  private volatile String evictable = null;
+
+  private LazyProxy(final DaggerokContext context, final Class<?> type) {
+    this.context = context;
+    this.type = type;
+  }
+
+  /**
+   * @param context context to resolve real bean from.
+   * @param type interface.
+   * @return proxy implementing given interface.
+   */
+  static Object create(final DaggerokContext context, final Class<?> type) {
+    return Proxy.newProxyInstance(type.getClassLoader(), new Class[] { type }, new LazyProxy(context, type));
+  }
+
+  /**
+   * Lazy parameters are never waited for: @{@link Lazy} interfaces and javax.inject.Provider of beans.
+   *
+   * @param constructor injector constructor.
+   * @return lazy parameters types (interface or parametrized provider type, null for regular parameters),
+   *         or null if there is no lazy parameters.
+   */
+  static Type[] lazyParameters(final Constructor constructor) {
+    final Annotation[][] annotations = constructor.getParameterAnnotations();
+    final Class[] parameterTypes = constructor.getParameterTypes();
+    final Type[] genericTypes = constructor.getGenericParameterTypes();
+    Type[] result = null;
+    for (int i = 0; i < parameterTypes.length; i++) {
+      final Type provided = Provider.class == parameterTypes[i] && genericTypes.length == parameterTypes.length
+          ? providedType(genericTypes[i]) : null;
+      if (null != provided) {
+        if (null == result) result = new Type[parameterTypes.length];
+        result[i] = genericTypes[i];
+        continue;
+      }
+      for (final Annotation annotation : annotations[i]) {
+        if (!(annotation instanceof Lazy)) continue;
+        if (!parameterTypes[i].isInterface()) {
+          log.warn("{} parameter {} is not an interface and will be injected as usual.",
+                   constructor, parameterTypes[i].getName());
+          continue;
+        }
+        if (null == result) result = new Type[parameterTypes.length];
+        result[i] = parameterTypes[i];
+      }
+    }
+    return result;
+  }
+
+  /**
+   * @param type javax.inject.Provider parameter type.
+   * @return provided bean type or null if it's raw or wildcard provider.
+   */
+  static Class<?> providedType(final Type type) {
+    if (!(type instanceof ParameterizedType)) return null;
+    final Type argument = ((ParameterizedType) type).getActualTypeArguments()[0];
+    if (argument instanceof Class) return (Class<?>) argument;
+    if (argument instanceof ParameterizedType) return (Class<?>) ((ParameterizedType) argument).getRawType();
+    return null;
+  }
+
+  public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+    final String name = evictable;
+    Object bean = null == name ? target : context.getBean(name);
+    if (null == bean) bean = target();
+    try {
+      return method.invoke(bean, args);
+    }
+    catch (final InvocationTargetException e) {
+      throw e.getCause();
+    }
+  }
+
+  private synchronized Object target() {
+    if (null != target) return target;
+    final Object byName = context.getBean(type.getName());
+    final Object bean = null != byName ? byName : context.lookupImplementation(type);
+    if (null == bean) throw new BeanNotFoundException(type);
+    if (log.isDebugEnabled()) log.debug("lazy {} resolved to {}", type.getName(), bean.getClass().getName());
+    final String name = null != byName ? type.getName() : bean.getClass().getName();
+    if (!context.evictable(name)) return target = bean;
+    evictable = name; // never pinned: looked up on every call, so evicted bean is rebuilt and can be collected
+    return bean;
+  }
+}
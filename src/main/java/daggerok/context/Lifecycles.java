@@ -0,0 +1,309 @@
+package daggerok.context;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.lang.annotation.Annotation;
+import java.lang.ref.SoftReference;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class Lifecycles {
+
+  private static final Logger log = LoggerFactory.getLogger(Lifecycles.class);
+  private static final Map<Class<?>, SoftReference<List<Method>>> postConstructs =
+      Collections.synchronizedMap(new WeakHashMap<Class<?>, SoftReference<List<Method>>>());
+  private static final Map<Class<?>, SoftReference<List<Method>>> preDestroys =
+      Collections.synchronizedMap(new WeakHashMap<Class<?>, SoftReference<List<Method>>>());
+
+  private Lifecycles() {}
+
+  /**
+   * Invokes all no-arg methods annotated with @{@link PostConstruct}, super classes methods go first.
+   *
+   * @param bean created bean.
+   * @throws Exception if any callback failed.
+   */
+  static void postConstruct(final Object bean) throws Exception {
+    for (final Method method : callbacks(bean.getClass(), PostConstruct.class)) {
+      method.invoke(bean);
+    }
+  }
+
+  /**
+   * @param type bean type.
+   * @return true if bean has at least one @{@link PreDestroy} callback.
+   */
+  static boolean hasPreDestroy(final Class<?> type) {
+    return !callbacks(type, PreDestroy.class).isEmpty();
+  }
+
+  /**
+   * Invokes all no-arg methods annotated with @{@link PreDestroy}, super classes methods go last.
+   *
+   * @param bean bean to be destroyed.
+   * @throws Exception if any callback failed.
+   */
+  static void preDestroy(final Object bean) throws Exception {
+    final List<Method> methods = callbacks(bean.getClass(), PreDestroy.class);
+    for (int i = methods.size() - 1; i >= 0; i--) {
+      methods.get(i).invoke(bean);
+    }
+  }
+
+  /**
+   * Callbacks are resolved once per class. Cached methods are softly referenced: they are referencing their classes,
+   * which otherwise would never be collected as keys of weak map.
+   *
+   * @param type bean type.
+   * @param annotation lifecycle annotation.
+   * @return unmodifiable list of accessible no-arg methods annotated with given annotation, super classes methods go
+   *         first, overridden methods are skipped (JSR-250: overridden callback is not invoked, only overriding one
+   *         if it's annotated as well).
+   */
+  static List<Method> callbacks(final Class<?> type, final Class<? extends Annotation> annotation) {
+    final Map<Class<?>, SoftReference<List<Method>>> cache = PostConstruct.class == annotation ? postConstructs
+        : PreDestroy.class == annotation ? preDestroys : null;
+    final SoftReference<List<Method>> cached = null == cache ? null : cache.get(type);
+    final List<Method> known = null == cached ? null : cached.get();
+    if (null != known) return known;
+
+    final List<Method> methods = Collections.unmodifiableList(find(type, annotation));
+    if (null != cache) cache.put(type, new SoftReference<List<Method>>(methods));
+    return methods;
+  }
+
+  private static List<Method> find(final Class<?> type, final Class<? extends Annotation> annotation) {
+    final LinkedList<Method> methods = new LinkedList<Method>();
+    final Map<String, Class<?>> overriding = new HashMap<String, Class<?>>(); // no-arg method name to subclass
+    for (Class<?> aClass = type; null != aClass && Object.class != aClass; aClass = aClass.getSuperclass()) {
+      final Method[] declaredMethods;
+      try {
+        declaredMethods = aClass.getDeclaredMethods();
+      }
+      catch (final Throwable e) { // NoClassDefFoundError and friends of not fully available classes
+        if (log.isDebugEnabled()) log.debug("cannot get {} methods: {}", aClass.getName(), e.getLocalizedMessage());
+        continue;
+      }
+      for (final Method method : declaredMethods) {
+        if (0 != method.getParameterTypes().length || Modifier.isStatic(method.getModifiers())) continue;
+        if (overridden(method, overriding.get(method.getName()))) continue;
+        if (!method.isAnnotationPresent(annotation)) continue;
+        method.setAccessible(true);
+        methods.addFirst(method);
+      }
+      for (final Method method : declaredMethods) {
+        final int modifiers = method.getModifiers();
+        if (0 != method.getParameterTypes().length || Modifier.isStatic(modifiers) || Modifier.isPrivate(modifiers)
+            || overriding.containsKey(method.getName())) continue;
+        overriding.put(method.getName(), aClass);
+      }
+    }
+    return methods;
+  }
+
+  /**
+   * @param method super class no-arg method.
+   * @param subclass nearest subclass declaring not private no-arg method with the same name, or null.
+   * @return true if method is overridden: it's not private, and not package-private method of other package.
+   */
+  private static boolean overridden(final Method method, final Class<?> subclass) {
+    if (null == subclass) return false;
+    final int modifiers = method.getModifiers();
+    if (Modifier.isPrivate(modifiers)) return false;
+    if (Modifier.isPublic(modifiers) || Modifier.isProtected(modifiers)) return true;
+    return packageName(subclass).equals(packageName(method.getDeclaringClass()));
+  }
+
+  private static String packageName(final Class<?> type) {
+    final String name = type.getName();
+    final int dot = name.lastIndexOf('.');
+    return dot < 0 ? "" : name.substring(0, dot);
+  }
+
+  /**
+   * Destroys beans in reverse dependency order: bean is destroyed only when all beans depends on it are destroyed.
+   * Independent beans are destroyed in parallel, each @{@link PreDestroy} callback can take no longer than timeout.
+   */
+  static class Shutdown {
+
+    private final Map<String, Object> beans;
+    private final Map<String, String[]> dependencies;
+    private final long timeoutNanos;
+
+    private final Map<String, Integer> dependentsLeft = new HashMap<String, Integer>();
+    private final Map<Future<String>, Destroy> running = new HashMap<Future<String>, Destroy>();
+    private int left = 0;
+
+    /**
+     * @param beans bean names to beans. Same instance registered with different names will be destroyed once.
+     * @param dependencies bean names to names of beans was injected in it.
+     * @param timeout per bean @{@link PreDestroy} timeout.
+     * @param unit timeout unit.
+     */
+    Shutdown(final Map<String, Object> beans, final Map<String, String[]> dependencies,
+             final long timeout, final TimeUnit unit) {
+
+      final IdentityHashMap<Object, String> unique = new IdentityHashMap<Object, String>();
+      for (final Map.Entry<String, Object> entry : beans.entrySet()) {
+        if (!unique.containsKey(entry.getValue())) unique.put(entry.getValue(), entry.getKey());
+      }
+
+      this.beans = new HashMap<String, Object>();
+      for (final Map.Entry<Object, String> entry : unique.entrySet()) {
+        this.beans.put(entry.getValue(), entry.getKey());
+      }
+      this.dependencies = dependencies;
+      this.timeoutNanos = unit.toNanos(timeout);
+    }
+
+    void run() {
+      for (final String name : beans.keySet()) {
+        dependentsLeft.put(name, 0);
+      }
+      for (final String name : beans.keySet()) {
+        for (final String dependency : dependenciesOf(name)) {
+          dependentsLeft.put(dependency, dependentsLeft.get(dependency) + 1);
+        }
+      }
+
+      final LinkedList<String> ready = new LinkedList<String>();
+      for (final Map.Entry<String, Integer> entry : dependentsLeft.entrySet()) {
+        if (0 == entry.getValue()) ready.add(entry.getKey());
+      }
+      left = beans.size();
+
+      final ExecutorService executor = Executors.newFixedThreadPool(threads(), new ShutdownThreadFactory());
+      final CompletionService<String> completion = new ExecutorCompletionService<String>(executor);
+
+      try {
+        while (left > 0) {
+          while (!ready.isEmpty()) {
+            final String name = ready.removeFirst();
+            final Object bean = beans.get(name);
+            if (!hasPreDestroy(bean.getClass())) {
+              done(name, ready);
+              continue;
+            }
+            final Destroy destroy = new Destroy(name, bean);
+            running.put(completion.submit(destroy), destroy);
+          }
+          if (left < 1) break;
+          if (running.isEmpty()) { // should never happen, otherwise there is a cycle
+            log.warn("{} beans cannot be destroyed in dependency order.", left);
+            break;
+          }
+          awaitNext(completion, ready);
+        }
+      }
+      catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        log.warn("context shutdown was interrupted, {} beans left.", left);
+      }
+      finally {
+        executor.shutdownNow();
+      }
+    }
+
+    private void awaitNext(final CompletionService<String> completion, final LinkedList<String> ready)
+        throws InterruptedException {
+
+      final Future<String> completed = completion.poll(nanosToNextDeadline(), TimeUnit.NANOSECONDS);
+
+      if (null != completed) {
+        final Destroy destroy = running.remove(completed);
+        if (null != destroy) done(destroy.name, ready); // otherwise already timed out
+        return;
+      }
+
+      final long now = System.nanoTime();
+      for (final Future<String> future : new ArrayList<Future<String>>(running.keySet())) {
+        final Destroy destroy = running.get(future);
+        if (!destroy.started || now - destroy.startedAt < timeoutNanos) continue;
+        log.warn("bean {} destroy timed out.", destroy.name);
+        future.cancel(true);
+        running.remove(future);
+        done(destroy.name, ready);
+      }
+    }
+
+    private long nanosToNextDeadline() {
+      long next = timeoutNanos;
+      final long now = System.nanoTime();
+      for (final Destroy destroy : running.values()) {
+        if (!destroy.started) continue;
+        next = Math.min(next, destroy.startedAt + timeoutNanos - now);
+      }
+      return Math.max(next, 0);
+    }
+
+    private void done(final String name, final LinkedList<String> ready) {
+      left--;
+      for (final String dependency : dependenciesOf(name)) {
+        final int count = dependentsLeft.get(dependency) - 1;
+        dependentsLeft.put(dependency, count);
+        if (0 == count) ready.add(dependency);
+      }
+    }
+
+    private List<String> dependenciesOf(final String name) {
+      final String[] names = dependencies.get(name);
+      if (null == names) return Collections.emptyList();
+      final List<String> result = new ArrayList<String>(names.length);
+      for (final String dependency : names) {
+        if (beans.containsKey(dependency) && !dependency.equals(name) && !result.contains(dependency))
+          result.add(dependency);
+      }
+      return result;
+    }
+
+    private int threads() {
+      return Math.max(1, Math.min(beans.size(), 2 * Runtime.getRuntime().availableProcessors()));
+    }
+
+    private static class Destroy implements Callable<String> {
+
+      private final String name;
+      private final Object bean;
+      private volatile long startedAt;
+      private volatile boolean started = false;
+
+      private Destroy(final String name, final Object bean) {
+        this.name = name;
+        this.bean = bean;
+      }
+
+      public String call() {
+        startedAt = System.nanoTime();
+        started = true;
+        try {
+          preDestroy(bean);
+        }
+        catch (final InvocationTargetException e) {
+          log.warn("bean {} destroy failed: {}", name, e.getCause().getLocalizedMessage());
+        }
+        catch (final Throwable e) {
+          log.warn("bean {} destroy failed: {}", name, e.getLocalizedMessage());
+        }
+        return name;
+      }
+    }
+  }
+
+  private static class ShutdownThreadFactory implements ThreadFactory {
+
+    private final AtomicInteger counter = new AtomicInteger();
+
+    public Thread newThread(final Runnable runnable) {
+      final Thread thread = new Thread(runnable, "daggerok-shutdown-" + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
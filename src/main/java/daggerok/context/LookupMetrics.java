@@ -0,0 +1,181 @@
+package daggerok.context;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Striped counters: enabled metrics are not adding contention to getBean hot path.
+ */
+class LookupMetrics implements LookupMetricsMBean {
+
+  static final String SINGLETON = "singleton";
+  static final String OTHER_KEYS = "<other>";
+
+  private static final Logger log = LoggerFactory.getLogger(LookupMetrics.class);
+  private static final int MAX_KEYS = 10000;
+  private static final int KEY_CELLS = 4;
+  private static final int BUCKETS = 32;
+
+  private final StripedCounter lookups = new StripedCounter();
+  private final StripedCounter misses = new StripedCounter();
+  private final StripedCounter evictions = new StripedCounter(KEY_CELLS);
+  private final StripedCounter rebuilds = new StripedCounter(KEY_CELLS);
+  private final ConcurrentHashMap<String, StripedCounter> lookupsByKey = new ConcurrentHashMap<String, StripedCounter>();
+  private final ConcurrentHashMap<String, StripedCounter> missesByKey = new ConcurrentHashMap<String, StripedCounter>();
+  private final ConcurrentHashMap<String, StripedCounter> creations = new ConcurrentHashMap<String, StripedCounter>();
+  private final ConcurrentHashMap<String, AtomicLongArray> latencies = new ConcurrentHashMap<String, AtomicLongArray>();
+
+  private ObjectName objectName = null;
+
+  /**
+   * @param name bean name was requested.
+   * @param found true if bean was found.
+   */
+  void lookup(final String name, final boolean found) {
+    lookups.increment();
+    counter(lookupsByKey, name).increment();
+    if (found) return;
+    misses.increment();
+    counter(missesByKey, name).increment();
+  }
+
+  /**
+   * @param scope created bean scope.
+   * @param nanos creation latency.
+   */
+  void created(final String scope, final long nanos) {
+    counter(creations, scope).increment();
+    AtomicLongArray histogram = latencies.get(scope);
+    if (null == histogram) {
+      final AtomicLongArray created = new AtomicLongArray(BUCKETS);
+      histogram = latencies.putIfAbsent(scope, created);
+      if (null == histogram) histogram = created;
+    }
+    final long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+    final int bucket = 64 - Long.numberOfLeadingZeros(micros);
+    histogram.incrementAndGet(Math.min(bucket, BUCKETS - 1));
+  }
+
+  /**
+   * @{@link Evictable} bean was evicted.
+   */
+  void evicted() {
+    evictions.increment();
+  }
+
+  /**
+   * Evicted @{@link Evictable} bean was rebuilt.
+   */
+  void rebuilt() {
+    rebuilds.increment();
+  }
+
+  void register(final Object context) {
+    try {
+      final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      final ObjectName name = new ObjectName("daggerok.context:type=DaggerokContext,name="
+                                                 + Integer.toHexString(System.identityHashCode(context)));
+      server.registerMBean(new StandardMBean(this, LookupMetricsMBean.class), name);
+      objectName = name;
+    }
+    catch (final Exception e) {
+      log.warn("Metrics MBean registration failed: {}", e.getLocalizedMessage());
+    }
+  }
+
+  void unregister() {
+    if (null == objectName) return;
+    try {
+      ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+    }
+    catch (final Exception e) {
+      if (log.isDebugEnabled()) log.debug("Metrics MBean unregistration failed: {}", e.getLocalizedMessage());
+    }
+    objectName = null;
+  }
+
+  ObjectName objectName() {
+    return objectName;
+  }
+
+  /* MBean */
+
+  public long getLookupCount() {
+    return lookups.sum();
+  }
+
+  public long getMissCount() {
+    return misses.sum();
+  }
+
+  public Map<String, Long> getLookupCounts() {
+    return sums(lookupsByKey);
+  }
+
+  public Map<String, Long> getMissCounts() {
+    return sums(missesByKey);
+  }
+
+  public Map<String, Long> getCreationCounts() {
+    return sums(creations);
+  }
+
+  public long getEvictionCount() {
+    return evictions.sum();
+  }
+
+  public long getRebuildCount() {
+    return rebuilds.sum();
+  }
+
+  public long[] creationLatencyHistogram(final String scope) {
+    final long[] result = new long[BUCKETS];
+    final AtomicLongArray histogram = null == scope ? null : latencies.get(scope);
+    if (null == histogram) return result;
+    for (int i = 0; i < BUCKETS; i++) {
+      result[i] = histogram.get(i);
+    }
+    return result;
+  }
+
+  public void reset() {
+    lookups.reset();
+    misses.reset();
+    evictions.reset();
+    rebuilds.reset();
+    lookupsByKey.clear();
+    missesByKey.clear();
+    creations.clear();
+    latencies.clear();
+  }
+
+  /* private API */
+
+  private static StripedCounter counter(final ConcurrentMap<String, StripedCounter> counters, final String key) {
+    final StripedCounter existing = counters.get(key);
+    if (null != existing) return existing;
+    final String name = counters.size() < MAX_KEYS ? key : OTHER_KEYS;
+    final StripedCounter counter = new StripedCounter(KEY_CELLS);
+    final StripedCounter previous = counters.putIfAbsent(name, counter);
+    return null == previous ? counter : previous;
+  }
+
+  private static Map<String, Long> sums(final Map<String, StripedCounter> counters) {
+    final Map<String, Long> result = new TreeMap<String, Long>();
+    for (final Map.Entry<String, StripedCounter> entry : counters.entrySet()) {
+      result.put(entry.getKey(), entry.getValue().sum());
+    }
+    return result;
+  }
+}
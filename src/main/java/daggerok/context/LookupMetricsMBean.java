@@ -0,0 +1,62 @@
+package daggerok.context;
+
+import java.util.Map;
+
+/**
+ * Runtime beans lookup metrics of {@link DaggerokContext}, registered as platform MBean:
+ *
+ *   daggerok.context:type=DaggerokContext,name=...
+ *
+ * Enabled by {@link DaggerokContext#withMetrics(boolean)}.
+ */
+public interface LookupMetricsMBean {
+
+  /**
+   * @return total amount of getBean calls.
+   */
+  long getLookupCount();
+
+  /**
+   * @return total amount of getBean calls returned null.
+   */
+  long getMissCount();
+
+  /**
+   * @return bean name to amount of getBean calls.
+   */
+  Map<String, Long> getLookupCounts();
+
+  /**
+   * @return bean name to amount of getBean calls returned null.
+   */
+  Map<String, Long> getMissCounts();
+
+  /**
+   * @return scope name to amount of beans created by context.
+   */
+  Map<String, Long> getCreationCounts();
+
+  /**
+   * @return amount of evicted @{@link Evictable} beans.
+   */
+  long getEvictionCount();
+
+  /**
+   * @return amount of rebuilt @{@link Evictable} beans, also counted as creations of evictable scope.
+   */
+  long getRebuildCount();
+
+  /**
+   * Creation latency histogram: bucket i contains amount of creations took less than 2^i microseconds
+   * (and not less than 2^(i-1) microseconds).
+   *
+   * @param scope scope name: singleton or evictable.
+   * @return histogram buckets.
+   */
+  long[] creationLatencyHistogram(String scope);
+
+  /**
+   * Resets all counters.
+   */
+  void reset();
+}
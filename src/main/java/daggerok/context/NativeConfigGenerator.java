@@ -0,0 +1,180 @@
+package daggerok.context;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.*;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.*;
+
+import static daggerok.context.Requires.requireNonNull;
+
+/**
+ * Build-time generator of GraalVM native-image and AppCDS configurations.
+ *
+ * Runs regular discovery for given context configuration and writes into output directory:
+ *
+ * - reflect-config.json: every bean constructor context calls, as well as @{@link PostConstruct} and
+ *   @{@link PreDestroy} callbacks
+ * - classes.lst: bean classes with their super classes and interfaces, to be used for class data sharing archive
+ *
+ *   java -cp ... daggerok.context.NativeConfigGenerator target/native my.app
+ *
+ *   native-image -H:ReflectionConfigurationFiles=target/native/reflect-config.json ...
+ *   java -Xshare:dump -XX:SharedClassListFile=target/native/classes.lst -XX:SharedArchiveFile=app.jsa -cp ...
+ *
+ * Components scan still requires class path resources at runtime, so in native image use it together with
+ * {@link WiringGenerator} generated wiring.
+ *
+ * Discovery instantiates beans of given context: constructors and @{@link PostConstruct} callbacks are called, and
+ * context is closed afterwards, so @PreDestroy callbacks are called as well.
+ */
+public class NativeConfigGenerator {
+
+  public static final String REFLECT_CONFIG = "reflect-config.json";
+  public static final String CLASS_LIST = "classes.lst";
+
+  private static final Logger log = LoggerFactory.getLogger(NativeConfigGenerator.class);
+
+  /**
+   * Generates configuration files.
+   *
+   * @param args output directory and base packages to be scanned.
+   * @throws IOException if configuration cannot be written.
+   */
+  public static void main(final String[] args) throws IOException {
+    if (args.length < 2) {
+      System.err.println("usage: NativeConfigGenerator <output directory> <base package>...");
+      System.exit(1);
+    }
+    final String[] basePackages = new String[args.length - 1];
+    System.arraycopy(args, 1, basePackages, 0, basePackages.length);
+    final File directory = new File(args[0]);
+    generate(DaggerokContext.create(basePackages), directory);
+    log.info("native configuration was generated: {}", directory);
+  }
+
+  /**
+   * @param context configured, but not initialized context, closed after beans were created and discovery recorded.
+   * @param directory output directory.
+   * @return written files: reflect-config.json and classes.lst
+   * @throws IOException if configuration cannot be written.
+   */
+  public static File[] generate(final DaggerokContext context, final File directory) throws IOException {
+    requireNonNull(context, "context");
+    requireNonNull(directory, "output directory");
+    if (!directory.isDirectory() && !directory.mkdirs()) throw new IOException("cannot create " + directory);
+
+    final WiringPlan plan;
+    try {
+      plan = context.initializeAndRecord();
+    }
+    finally {
+      context.close();
+    }
+    final NativeConfigGenerator generator = new NativeConfigGenerator(plan);
+    final File reflectConfig = new File(directory, REFLECT_CONFIG);
+    final File classList = new File(directory, CLASS_LIST);
+    write(reflectConfig, generator.reflectConfig());
+    write(classList, generator.classList());
+    return new File[] { reflectConfig, classList };
+  }
+
+  /* private API */
+
+  private final Map<Class<?>, List<String[]>> methods = new LinkedHashMap<Class<?>, List<String[]>>();
+
+  private NativeConfigGenerator(final WiringPlan plan) {
+    for (final String[] names : plan.beans) {
+      final Constructor constructor;
+      try {
+        constructor = WiringPlan.constructor(names);
+      }
+      catch (final Exception e) {
+        throw new IllegalStateException("bean " + names[0] + " constructor is not available: " + e, e);
+      }
+      final Class<?> type = constructor.getDeclaringClass();
+      final String[] init = new String[names.length];
+      init[0] = "<init>";
+      for (int i = 1; i < names.length; i++) {
+        init[i] = javaName(constructor.getParameterTypes()[i - 1]);
+      }
+      method(type, init);
+      for (final Method method : Lifecycles.callbacks(type, PostConstruct.class)) {
+        method(method.getDeclaringClass(), method.getName());
+      }
+      for (final Method method : Lifecycles.callbacks(type, PreDestroy.class)) {
+        method(method.getDeclaringClass(), method.getName());
+      }
+    }
+  }
+
+  private void method(final Class<?> type, final String... nameAndParameterTypes) {
+    List<String[]> list = methods.get(type);
+    if (null == list) methods.put(type, list = new ArrayList<String[]>());
+    for (final String[] existing : list) {
+      if (Arrays.equals(existing, nameAndParameterTypes)) return;
+    }
+    list.add(nameAndParameterTypes);
+  }
+
+  private String reflectConfig() {
+    final StringBuilder json = new StringBuilder("[");
+    boolean firstType = true;
+    for (final Map.Entry<Class<?>, List<String[]>> entry : methods.entrySet()) {
+      json.append(firstType ? "\n" : ",\n").append("  {\n    \"name\": \"").append(javaName(entry.getKey()))
+          .append("\",\n    \"methods\": [");
+      firstType = false;
+      boolean firstMethod = true;
+      for (final String[] method : entry.getValue()) {
+        json.append(firstMethod ? "\n" : ",\n").append("      { \"name\": \"").append(method[0])
+            .append("\", \"parameterTypes\": [");
+        firstMethod = false;
+        for (int i = 1; i < method.length; i++) {
+          json.append(i > 1 ? ", \"" : "\"").append(method[i]).append('"');
+        }
+        json.append("] }");
+      }
+      json.append("\n    ]\n  }");
+    }
+    return json.append("\n]\n").toString();
+  }
+
+  private String classList() {
+    final Set<String> classes = new TreeSet<String>();
+    for (final Class<?> type : methods.keySet()) {
+      hierarchy(type, classes);
+    }
+    final StringBuilder result = new StringBuilder();
+    for (final String name : classes) {
+      result.append(name).append('\n');
+    }
+    return result.toString();
+  }
+
+  private static void hierarchy(final Class<?> type, final Set<String> classes) {
+    if (null == type || type.isPrimitive() || type.isArray()) return;
+    if (!classes.add(type.getName().replace('.', '/'))) return;
+    hierarchy(type.getSuperclass(), classes);
+    for (final Class<?> anInterface : type.getInterfaces()) {
+      hierarchy(anInterface, classes);
+    }
+  }
+
+  private static String javaName(final Class<?> type) {
+    return type.isArray() ? javaName(type.getComponentType()) + "[]" : type.getName();
+  }
+
+  private static void write(final File file, final String content) throws IOException {
+    final Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+    try {
+      writer.write(content);
+    }
+    finally {
+      writer.close();
+    }
+  }
+}
@@ -0,0 +1,38 @@
+package daggerok.context;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks component, which must be created only if any of given profiles is active, see
+ * {@link DaggerokContext#withProfiles(String...)}. Profile prefixed by "!" is matched if it's not active.
+ *
+ *   &#64;Singleton
+ *   &#64;Profile({ "prod", "staging" })
+ *   public class JdbcRepository implements Repository { ... }
+ *
+ *   &#64;Singleton
+ *   &#64;Profile("!prod")
+ *   public class InMemoryRepository implements Repository { ... }
+ *
+ * Components of inactive profiles are excluded during discovery, same as not matched @{@link Conditional} ones:
+ * they are never initialized, instantiated or created implicitly as parameters of other beans.
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Profile {
+
+  /**
+   * Profile, which is active if no profiles were configured.
+   */
+  String DEFAULT = "default";
+
+  /**
+   * @return profile names.
+   */
+  String[] value();
+}
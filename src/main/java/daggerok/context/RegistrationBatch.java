@@ -0,0 +1,71 @@
+package daggerok.context;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static daggerok.context.Requires.requireNonNull;
+
+/**
+ * Manual registration of many beans at once, see {@link DaggerokContext#batch()}.
+ *
+ * Every entry is validated when added, nothing is visible in context until {@link #publish()}: afterwards all beans
+ * of batch are visible at once, lookups never observe partially published batch.
+ *
+ *   applicationContext.batch()
+ *                     .register(MyBean.class, myBean)
+ *                     .register("my.app.MyOtherBean", myOtherBean)
+ *                     .publish();
+ */
+public class RegistrationBatch {
+
+  private final DaggerokContext context;
+  private final Map<String, Object> beans;
+
+  RegistrationBatch(final DaggerokContext context, final int expectedSize) {
+    this.context = context;
+    this.beans = new LinkedHashMap<String, Object>(Math.max(16, expectedSize * 4 / 3 + 1));
+  }
+
+  /**
+   * @param beanType bean class.
+   * @param instance bean instance.
+   * @param <T>      can any bean instance.
+   * @return batch.
+   */
+  public <T> RegistrationBatch register(final Class<T> beanType, final T instance) {
+    requireNonNull(beanType, "bean type");
+    if (null != instance && !beanType.isInstance(instance))
+      throw new IllegalArgumentException(instance.getClass().getName() + " is not " + beanType.getName());
+    return register(beanType.getName(), instance);
+  }
+
+  /**
+   * @param beanName FQDN class name.
+   * @param instance bean instance.
+   * @param <T>      can any bean instance.
+   * @return batch.
+   */
+  public <T> RegistrationBatch register(final String beanName, final T instance) {
+    requireNonNull(beanName, "bean name");
+    requireNonNull(instance, "instance");
+    beans.put(beanName, instance);
+    return this;
+  }
+
+  /**
+   * @return amount of beans in batch.
+   */
+  public int size() {
+    return beans.size();
+  }
+
+  /**
+   * Publishes all beans of batch in one step. Same as regular manual registration, published beans always win.
+   *
+   * @return context.
+   */
+  public DaggerokContext publish() {
+    context.publish(beans);
+    return context;
+  }
+}
@@ -0,0 +1,128 @@
+package daggerok.context;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.util.*;
+
+/**
+ * JVM-wide cache of components scan results and resolved wiring plans, shared by all contexts.
+ *
+ * Entries are grouped by class loader, which is referenced weakly, so redeployed applications are not leaking: cached
+ * values contain class names only and never reference classes. Each class loader keeps up to {@link #MAX_ENTRIES}
+ * least recently used entries. Cached values are never modified after they were put into cache.
+ */
+class ScanCache {
+
+  static final int MAX_ENTRIES = 256;
+
+  private static final Logger log = LoggerFactory.getLogger(ScanCache.class);
+
+  private static final Map<ClassLoader, Map<String, Object>> cache = new WeakHashMap<ClassLoader, Map<String, Object>>();
+
+  private ScanCache() {}
+
+  /* components scan */
+
+  /**
+   * @param basePackage scanned base package.
+   * @param injectAnnotation inject annotation.
+   * @return cached annotated constructors or null if base package wasn't scanned yet.
+   */
+  static List<Constructor> injects(final String basePackage, final Class<? extends Annotation> injectAnnotation) {
+    final String[][] signatures = (String[][]) get("injects|" + injectAnnotation.getName() + "|" + basePackage);
+    if (null == signatures) return null;
+    final List<Constructor> result = new ArrayList<Constructor>(signatures.length);
+    try {
+      for (final String[] signature : signatures) {
+        result.add(WiringPlan.constructor(signature));
+      }
+      return result;
+    }
+    catch (final Exception e) {
+      if (log.isDebugEnabled()) log.debug("cached {} injects are stale: {}", basePackage, e.toString());
+      return null;
+    }
+  }
+
+  static void injects(final String basePackage, final Class<? extends Annotation> injectAnnotation,
+                      final Collection<Constructor> constructors) {
+    final String[][] signatures = new String[constructors.size()][];
+    int i = 0;
+    for (final Constructor constructor : constructors) {
+      signatures[i++] = WiringPlan.names(constructor);
+    }
+    put("injects|" + injectAnnotation.getName() + "|" + basePackage, signatures);
+  }
+
+  /**
+   * @param basePackage scanned base package.
+   * @param componentAnnotation component annotation.
+   * @return cached annotated classes or null if base package wasn't scanned yet.
+   */
+  static List<Class> components(final String basePackage, final Class<? extends Annotation> componentAnnotation) {
+    final String[] names = (String[]) get("components|" + componentAnnotation.getName() + "|" + basePackage);
+    if (null == names) return null;
+    final List<Class> result = new ArrayList<Class>(names.length);
+    try {
+      for (final String name : names) {
+        result.add(WiringPlan.load(name));
+      }
+      return result;
+    }
+    catch (final ClassNotFoundException e) {
+      if (log.isDebugEnabled()) log.debug("cached {} components are stale: {}", basePackage, e.toString());
+      return null;
+    }
+  }
+
+  static void components(final String basePackage, final Class<? extends Annotation> componentAnnotation,
+                         final Collection<Class<?>> components) {
+    final String[] names = new String[components.size()];
+    int i = 0;
+    for (final Class<?> component : components) {
+      names[i++] = component.getName();
+    }
+    put("components|" + componentAnnotation.getName() + "|" + basePackage, names);
+  }
+
+  /* wiring plans */
+
+  /**
+   * @param configuration base packages, annotations and fail-on flags.
+   * @return cached wiring plan or null.
+   */
+  static WiringPlan plan(final String configuration) {
+    return (WiringPlan) get("plan|" + configuration);
+  }
+
+  static void plan(final String configuration, final WiringPlan plan) {
+    put("plan|" + configuration, plan);
+  }
+
+  /* private API */
+
+  private static synchronized Object get(final String key) {
+    final Map<String, Object> entries = cache.get(classLoader());
+    return null == entries ? null : entries.get(key);
+  }
+
+  private static synchronized void put(final String key, final Object value) {
+    final ClassLoader classLoader = classLoader();
+    Map<String, Object> entries = cache.get(classLoader);
+    if (null == entries) cache.put(classLoader, entries = new LinkedHashMap<String, Object>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<String, Object> eldest) {
+        return size() > MAX_ENTRIES;
+      }
+    });
+    entries.put(key, value);
+  }
+
+  private static ClassLoader classLoader() {
+    final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+    return null == classLoader ? ScanCache.class.getClassLoader() : classLoader;
+  }
+}
@@ -0,0 +1,307 @@
+package daggerok.context;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Startup phases instrumentation: components scan per base package, dependency graph resolution and bean
+ * construction.
+ *
+ * Events are published as JDK Flight Recorder events (category "Daggerok Context") if JFR is available in current
+ * JVM, otherwise every event is no-op. JFR is accessed using dynamic events API (jdk.jfr.EventFactory) through
+ * reflection, so library is still usable on JVMs without JFR. Event types are created lazily, on first event published
+ * while flight recorder is running, so contexts created without recording don't pay for JFR initialization.
+ *
+ *   java -XX:StartRecording=filename=startup.jfr -jar my-app.jar
+ */
+abstract class StartupEvents {
+
+  /**
+   * Started event, which will be recorded on commit.
+   */
+  interface Event {
+    void failed();
+    void commit();
+  }
+
+  static final Event NONE_EVENT = new Event() {
+    public void failed() {}
+    public void commit() {}
+  };
+
+  static final StartupEvents NONE = new StartupEvents() {
+    Event scan(final String basePackage, final Class annotation) {
+      return NONE_EVENT;
+    }
+
+    Event resolution(final int constructors) {
+      return NONE_EVENT;
+    }
+
+    Event construction(final Class type, final int dependencies) {
+      return NONE_EVENT;
+    }
+  };
+
+  private static final StartupEvents JFR = new StartupEvents() {
+    Event scan(final String basePackage, final Class annotation) {
+      return JfrProbe.recording() ? JfrHolder.events.scan(basePackage, annotation) : NONE_EVENT;
+    }
+
+    Event resolution(final int constructors) {
+      return JfrProbe.recording() ? JfrHolder.events.resolution(constructors) : NONE_EVENT;
+    }
+
+    Event construction(final Class type, final int dependencies) {
+      return JfrProbe.recording() ? JfrHolder.events.construction(type, dependencies) : NONE_EVENT;
+    }
+  };
+
+  /**
+   * @return JFR startup events if JFR is available, otherwise no-op events.
+   */
+  static StartupEvents jfr() {
+    return null == JfrProbe.isInitialized ? NONE : JFR;
+  }
+
+  /**
+   * @param first events.
+   * @param second events.
+   * @return events publishing everything to both.
+   */
+  static StartupEvents both(final StartupEvents first, final StartupEvents second) {
+    if (NONE == first) return second;
+    if (NONE == second) return first;
+    return new StartupEvents() {
+      Event scan(final String basePackage, final Class annotation) {
+        return bothEvents(first.scan(basePackage, annotation), second.scan(basePackage, annotation));
+      }
+
+      Event resolution(final int constructors) {
+        return bothEvents(first.resolution(constructors), second.resolution(constructors));
+      }
+
+      Event construction(final Class type, final int dependencies) {
+        return bothEvents(first.construction(type, dependencies), second.construction(type, dependencies));
+      }
+
+      void reflectiveCall() {
+        first.reflectiveCall();
+        second.reflectiveCall();
+      }
+    };
+  }
+
+  private static Event bothEvents(final Event first, final Event second) {
+    if (NONE_EVENT == first) return second;
+    if (NONE_EVENT == second) return first;
+    return new Event() {
+      public void failed() {
+        first.failed();
+        second.failed();
+      }
+
+      public void commit() {
+        first.commit();
+        second.commit();
+      }
+    };
+  }
+
+  /**
+   * Begins base package scan.
+   *
+   * @param basePackage base package to be scanned.
+   * @param annotation annotation is searching for.
+   * @return started event.
+   */
+  abstract Event scan(final String basePackage, final Class annotation);
+
+  /**
+   * Begins beans dependency graph resolution.
+   *
+   * @param constructors amount of constructors to be resolved.
+   * @return started event.
+   */
+  abstract Event resolution(final int constructors);
+
+  /**
+   * Begins bean construction.
+   *
+   * @param type bean type.
+   * @param dependencies amount of constructor parameters.
+   * @return started event.
+   */
+  abstract Event construction(final Class type, final int dependencies);
+
+  /**
+   * Reflective call was made: constructor lookup or invocation.
+   */
+  void reflectiveCall() {}
+
+  /**
+   * jdk.jfr.FlightRecorder.isInitialized(): true once any recording was started, doesn't initialize JFR by itself.
+   */
+  private static class JfrProbe {
+
+    private static final Method isInitialized = find();
+
+    private static Method find() {
+      try {
+        return Class.forName("jdk.jfr.FlightRecorder").getMethod("isInitialized");
+      }
+      catch (final Throwable e) {
+        return null;
+      }
+    }
+
+    static boolean recording() {
+      try {
+        return (Boolean) isInitialized.invoke(null);
+      }
+      catch (final Throwable e) {
+        return false;
+      }
+    }
+  }
+
+  private static class JfrHolder {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupEvents.class);
+
+    private static final StartupEvents events = create();
+
+    private static StartupEvents create() {
+      try {
+        return new JfrStartupEvents();
+      }
+      catch (final Throwable e) {
+        if (log.isDebugEnabled()) log.debug("JFR is not available: {}", e.toString());
+        return NONE;
+      }
+    }
+  }
+
+  /**
+   * JFR dynamic events: jdk.jfr.EventFactory.create(annotations, fields).newEvent()
+   */
+  private static class JfrStartupEvents extends StartupEvents {
+
+    private final Method newEvent;
+    private final Method getEventType;
+    private final Method isEnabled;
+    private final Method begin;
+    private final Method set;
+    private final Method end;
+    private final Method commit;
+
+    private final Object scanFactory;
+    private final Object resolutionFactory;
+    private final Object constructionFactory;
+
+    private JfrStartupEvents() throws Exception {
+      final Class<?> eventFactory = Class.forName("jdk.jfr.EventFactory");
+      final Class<?> event = Class.forName("jdk.jfr.Event");
+      final Class<?> eventType = Class.forName("jdk.jfr.EventType");
+
+      newEvent = eventFactory.getMethod("newEvent");
+      getEventType = eventFactory.getMethod("getEventType");
+      isEnabled = eventType.getMethod("isEnabled");
+      begin = event.getMethod("begin");
+      set = event.getMethod("set", int.class, Object.class);
+      end = event.getMethod("end");
+      commit = event.getMethod("commit");
+
+      scanFactory = factory("daggerok.ComponentsScan", "Components Scan",
+                            "Base package scan for components and injectors",
+                            String.class, "basePackage", "Base Package",
+                            Class.class, "annotation", "Annotation");
+      resolutionFactory = factory("daggerok.GraphResolution", "Graph Resolution",
+                                  "Beans dependency graph resolution",
+                                  int.class, "constructors", "Constructors");
+      constructionFactory = factory("daggerok.BeanConstruction", "Bean Construction",
+                                    "Bean instantiation including @PostConstruct callbacks",
+                                    Class.class, "beanType", "Bean Type",
+                                    int.class, "dependencyCount", "Dependency Count");
+    }
+
+    Event scan(final String basePackage, final Class annotation) {
+      return begin(scanFactory, basePackage, annotation);
+    }
+
+    Event resolution(final int constructors) {
+      return begin(resolutionFactory, constructors);
+    }
+
+    Event construction(final Class type, final int dependencies) {
+      return begin(constructionFactory, type, dependencies);
+    }
+
+    private Event begin(final Object factory, final Object... values) {
+      try {
+        if (!(Boolean) isEnabled.invoke(getEventType.invoke(factory))) return NONE_EVENT;
+        final Object event = newEvent.invoke(factory);
+        for (int i = 0; i < values.length; i++) {
+          set.invoke(event, i, values[i]);
+        }
+        begin.invoke(event);
+        return new Event() {
+          public void failed() {}
+
+          public void commit() {
+            try {
+              end.invoke(event);
+              commit.invoke(event);
+            }
+            catch (final Throwable ignored) {}
+          }
+        };
+      }
+      catch (final Throwable ignored) {
+        return NONE_EVENT;
+      }
+    }
+
+    /**
+     * @param name event name.
+     * @param label event label.
+     * @param description event description.
+     * @param fields triples of field type, field name and field label.
+     * @return jdk.jfr.EventFactory
+     */
+    private static Object factory(final String name, final String label, final String description,
+                                  final Object... fields) throws Exception {
+
+      final List<Object> annotations = Arrays.asList(
+          annotation("jdk.jfr.Name", name),
+          annotation("jdk.jfr.Label", label),
+          annotation("jdk.jfr.Description", description),
+          annotation("jdk.jfr.Category", new String[] { "Daggerok Context" })
+      );
+
+      final Class<?> valueDescriptor = Class.forName("jdk.jfr.ValueDescriptor");
+      final Constructor<?> newValueDescriptor = valueDescriptor.getConstructor(Class.class, String.class, List.class);
+      final List<Object> descriptors = new ArrayList<Object>();
+      for (int i = 0; i < fields.length; i += 3) {
+        final List<Object> fieldAnnotations = Arrays.asList(annotation("jdk.jfr.Label", fields[i + 2]));
+        descriptors.add(newValueDescriptor.newInstance(fields[i], fields[i + 1], fieldAnnotations));
+      }
+
+      return Class.forName("jdk.jfr.EventFactory")
+                  .getMethod("create", List.class, List.class)
+                  .invoke(null, annotations, descriptors);
+    }
+
+    private static Object annotation(final String type, final Object value) throws Exception {
+      return Class.forName("jdk.jfr.AnnotationElement")
+                  .getConstructor(Class.class, Object.class)
+                  .newInstance(Class.forName(type), value);
+    }
+  }
+}
@@ -0,0 +1,384 @@
+package daggerok.context;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Context initialization timings, available by {@link DaggerokContext#getStartupReport()} after initialization.
+ *
+ * Contains:
+ *
+ * - elapsed wall time of each phase: scan, resolution, construction and whole initialization. Phase time is union of
+ *   it's intervals on all threads, excluding time of nested phases: construction triggered by resolution is counted
+ *   as construction only, so phases never add up to more than whole initialization
+ * - each bean construction time: self (constructor and @PostConstruct callbacks) and inclusive (bean with all it's
+ *   dependencies created from scratch)
+ * - critical path: the most expensive chain of dependencies
+ * - amount of reflective calls and failed construction attempts
+ *
+ * Report can be exported in Chrome trace event format (chrome://tracing, https://ui.perfetto.dev):
+ *
+ *   final String json = applicationContext.getStartupReport().toChromeTrace();
+ */
+public class StartupReport {
+
+  public static final String SCAN = "scan";
+  public static final String RESOLUTION = "resolution";
+  public static final String CONSTRUCTION = "construction";
+  public static final String INITIALIZATION = "initialization";
+
+  private final Map<String, Long> phases;
+  private final Map<String, Long> self;
+  private final Map<String, Long> inclusive;
+  private final List<String> criticalPath;
+  private final long criticalPathNanos;
+  private final int reflectiveCalls;
+  private final int failedConstructions;
+  private final List<Span> spans;
+
+  private StartupReport(final Map<String, Long> phases, final Map<String, Long> self,
+                        final Map<String, Long> inclusive, final List<String> criticalPath,
+                        final long criticalPathNanos, final int reflectiveCalls, final int failedConstructions,
+                        final List<Span> spans) {
+    this.phases = Collections.unmodifiableMap(phases);
+    this.self = Collections.unmodifiableMap(self);
+    this.inclusive = Collections.unmodifiableMap(inclusive);
+    this.criticalPath = Collections.unmodifiableList(criticalPath);
+    this.criticalPathNanos = criticalPathNanos;
+    this.reflectiveCalls = reflectiveCalls;
+    this.failedConstructions = failedConstructions;
+    this.spans = spans;
+  }
+
+  /**
+   * @return phase name ({@link #SCAN}, {@link #RESOLUTION}, {@link #CONSTRUCTION}, {@link #INITIALIZATION}) to it's
+   *         elapsed wall time in nanoseconds, see class description.
+   */
+  public Map<String, Long> getPhaseNanos() {
+    return phases;
+  }
+
+  /**
+   * @return bean name to it's constructor and @PostConstruct callbacks time in nanoseconds.
+   */
+  public Map<String, Long> getSelfNanos() {
+    return self;
+  }
+
+  /**
+   * @return bean name to time in nanoseconds needed to create it with all it's dependencies.
+   */
+  public Map<String, Long> getInclusiveNanos() {
+    return inclusive;
+  }
+
+  /**
+   * @return the most expensive dependency chain, starting from bean which nobody depends on.
+   */
+  public List<String> getCriticalPath() {
+    return criticalPath;
+  }
+
+  /**
+   * @return sum of self times of critical path beans in nanoseconds.
+   */
+  public long getCriticalPathNanos() {
+    return criticalPathNanos;
+  }
+
+  /**
+   * @return amount of reflective constructor lookups and invocations.
+   */
+  public int getReflectiveCalls() {
+    return reflectiveCalls;
+  }
+
+  /**
+   * @return amount of failed bean construction attempts.
+   */
+  public int getFailedConstructions() {
+    return failedConstructions;
+  }
+
+  /**
+   * @return report in Chrome trace event JSON format.
+   */
+  public String toChromeTrace() {
+    final StringBuilder json = new StringBuilder("{\"traceEvents\":[");
+    final Map<Long, String> threads = new TreeMap<Long, String>();
+
+    for (int i = 0; i < spans.size(); i++) {
+      final Span span = spans.get(i);
+      threads.put(span.threadId, span.threadName);
+      if (i > 0) json.append(',');
+      json.append("\n{\"name\":").append(quote(span.name))
+          .append(",\"cat\":").append(quote(span.category))
+          .append(",\"ph\":\"X\",\"pid\":1,\"tid\":").append(span.threadId)
+          .append(",\"ts\":").append(micros(span.start))
+          .append(",\"dur\":").append(micros(span.duration))
+          .append(",\"args\":{\"count\":").append(span.count)
+          .append(",\"failed\":").append(span.failed).append("}}");
+    }
+
+    for (final Map.Entry<Long, String> thread : threads.entrySet()) {
+      json.append(",\n{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":").append(thread.getKey())
+          .append(",\"args\":{\"name\":").append(quote(thread.getValue())).append("}}");
+    }
+
+    return json.append("\n],\"displayTimeUnit\":\"ms\"}").toString();
+  }
+
+  /**
+   * @return human readable summary, stable enough to be diffed between releases.
+   */
+  @Override
+  public String toString() {
+    final StringBuilder result = new StringBuilder("StartupReport");
+    for (final Map.Entry<String, Long> phase : phases.entrySet()) {
+      result.append("\n  ").append(phase.getKey()).append(": ").append(micros(phase.getValue())).append(" us");
+    }
+    result.append("\n  reflective calls: ").append(reflectiveCalls)
+          .append("\n  failed constructions: ").append(failedConstructions)
+          .append("\n  critical path (").append(micros(criticalPathNanos)).append(" us): ").append(criticalPath);
+    for (final Map.Entry<String, Long> bean : new TreeMap<String, Long>(inclusive).entrySet()) {
+      result.append("\n  ").append(bean.getKey())
+            .append(": self ").append(micros(self.get(bean.getKey()))).append(" us")
+            .append(", inclusive ").append(micros(bean.getValue())).append(" us");
+    }
+    return result.toString();
+  }
+
+  /* private API */
+
+  private static String micros(final long nanos) {
+    final long fraction = Math.abs(nanos % 1000);
+    return (nanos / 1000) + (fraction < 10 ? ".00" : fraction < 100 ? ".0" : ".") + fraction;
+  }
+
+  private static String quote(final String value) {
+    final StringBuilder result = new StringBuilder("\"");
+    for (int i = 0; i < value.length(); i++) {
+      final char c = value.charAt(i);
+      if ('"' == c || '\\' == c) result.append('\\').append(c);
+      else if (c < ' ') result.append(String.format("\\u%04x", (int) c));
+      else result.append(c);
+    }
+    return result.append('"').toString();
+  }
+
+  private static class Span {
+    private final String category;
+    private final String name;
+    private final int count;
+    private final long threadId;
+    private final String threadName;
+    private final long start;
+    private long duration;
+    private boolean failed = false;
+
+    private Span(final String category, final String name, final int count, final long start) {
+      final Thread thread = Thread.currentThread();
+      this.category = category;
+      this.name = name;
+      this.count = count;
+      this.threadId = thread.getId();
+      this.threadName = thread.getName();
+      this.start = start;
+    }
+  }
+
+  /**
+   * Records startup events and builds report.
+   */
+  static class Recorder extends StartupEvents {
+
+    private final long startedAt = System.nanoTime();
+    private final List<Span> spans = Collections.synchronizedList(new ArrayList<Span>());
+    private final AtomicInteger reflectiveCalls = new AtomicInteger();
+    private final AtomicInteger failedConstructions = new AtomicInteger();
+
+    Event scan(final String basePackage, final Class annotation) {
+      return begin(SCAN, basePackage + " @" + annotation.getName(), 0);
+    }
+
+    Event resolution(final int constructors) {
+      return begin(RESOLUTION, RESOLUTION, constructors);
+    }
+
+    Event construction(final Class type, final int dependencies) {
+      reflectiveCall();
+      return begin(CONSTRUCTION, type.getName(), dependencies);
+    }
+
+    void reflectiveCall() {
+      reflectiveCalls.incrementAndGet();
+    }
+
+    private Event begin(final String category, final String name, final int count) {
+      final Span span = new Span(category, name, count, System.nanoTime() - startedAt);
+      return new Event() {
+        public void failed() {
+          span.failed = true;
+          failedConstructions.incrementAndGet();
+        }
+
+        public void commit() {
+          span.duration = System.nanoTime() - startedAt - span.start;
+          spans.add(span);
+        }
+      };
+    }
+
+    /**
+     * @param dependencies bean names to names of beans was injected in it.
+     * @return startup report.
+     */
+    StartupReport report(final Map<String, String[]> dependencies) {
+      final long total = System.nanoTime() - startedAt;
+      final List<Span> recorded;
+      synchronized (spans) {
+        recorded = new ArrayList<Span>(spans);
+      }
+      Collections.sort(recorded, new Comparator<Span>() {
+        public int compare(final Span left, final Span right) {
+          return left.start < right.start ? -1 : left.start > right.start ? 1 : 0;
+        }
+      });
+
+      final List<long[]> construction = union(recorded, CONSTRUCTION);
+      final List<long[]> scan = union(recorded, SCAN);
+      final List<long[]> resolution = union(recorded, RESOLUTION);
+      final List<long[]> nested = merge(construction, scan);
+
+      final Map<String, Long> phases = new LinkedHashMap<String, Long>();
+      phases.put(SCAN, length(scan) - overlap(scan, construction));
+      phases.put(RESOLUTION, length(resolution) - overlap(resolution, nested));
+      phases.put(CONSTRUCTION, length(construction));
+      phases.put(INITIALIZATION, total);
+
+      final Map<String, Long> self = new HashMap<String, Long>();
+      for (final Span span : recorded) {
+        if (!CONSTRUCTION.equals(span.category) || span.failed) continue;
+        final Long previous = self.get(span.name);
+        self.put(span.name, (null == previous ? 0 : previous) + span.duration);
+      }
+
+      final Map<String, Long> inclusive = new HashMap<String, Long>();
+      for (final String name : self.keySet()) {
+        long sum = 0;
+        for (final String dependency : closure(name, dependencies, self.keySet())) {
+          sum += self.get(dependency);
+        }
+        inclusive.put(name, sum);
+      }
+
+      final Map<String, Long> longest = new HashMap<String, Long>();
+      final Map<String, String> next = new HashMap<String, String>();
+      String head = null;
+      for (final String name : self.keySet()) {
+        longest(name, dependencies, self, longest, next);
+        if (null == head || longest.get(name) > longest.get(head)) head = name;
+      }
+      final List<String> criticalPath = new ArrayList<String>();
+      final Set<String> visited = new HashSet<String>();
+      for (String name = head; null != name && visited.add(name); name = next.get(name)) {
+        criticalPath.add(name);
+      }
+
+      return new StartupReport(phases, self, inclusive, criticalPath, null == head ? 0 : longest.get(head),
+                               reflectiveCalls.get(), failedConstructions.get(), recorded);
+    }
+
+    /**
+     * @param spans spans sorted by start.
+     * @param category spans category.
+     * @return sorted disjoint intervals (start, end) covered by spans of given category on any thread.
+     */
+    private static List<long[]> union(final List<Span> spans, final String category) {
+      final List<long[]> intervals = new ArrayList<long[]>();
+      for (final Span span : spans) {
+        if (category.equals(span.category)) intervals.add(new long[] { span.start, span.start + span.duration });
+      }
+      return merge(intervals, Collections.<long[]>emptyList());
+    }
+
+    /**
+     * @param first intervals sorted by start.
+     * @param second intervals sorted by start.
+     * @return sorted disjoint intervals covered by any of given ones.
+     */
+    private static List<long[]> merge(final List<long[]> first, final List<long[]> second) {
+      final List<long[]> result = new ArrayList<long[]>();
+      int i = 0;
+      int j = 0;
+      while (i < first.size() || j < second.size()) {
+        final long[] next = j >= second.size() || i < first.size() && first.get(i)[0] <= second.get(j)[0]
+            ? first.get(i++) : second.get(j++);
+        final long[] last = result.isEmpty() ? null : result.get(result.size() - 1);
+        if (null != last && next[0] <= last[1]) last[1] = Math.max(last[1], next[1]);
+        else result.add(new long[] { next[0], next[1] });
+      }
+      return result;
+    }
+
+    /**
+     * @param first sorted disjoint intervals.
+     * @param second sorted disjoint intervals.
+     * @return length of time covered by both.
+     */
+    private static long overlap(final List<long[]> first, final List<long[]> second) {
+      long result = 0;
+      int i = 0;
+      int j = 0;
+      while (i < first.size() && j < second.size()) {
+        final long[] left = first.get(i);
+        final long[] right = second.get(j);
+        result += Math.max(0, Math.min(left[1], right[1]) - Math.max(left[0], right[0]));
+        if (left[1] < right[1]) i++;
+        else j++;
+      }
+      return result;
+    }
+
+    private static long length(final List<long[]> intervals) {
+      long result = 0;
+      for (final long[] interval : intervals) {
+        result += interval[1] - interval[0];
+      }
+      return result;
+    }
+
+    private static Set<String> closure(final String name, final Map<String, String[]> dependencies,
+                                       final Set<String> created) {
+      final Set<String> result = new HashSet<String>();
+      final LinkedList<String> toBeVisited = new LinkedList<String>();
+      toBeVisited.add(name);
+      while (!toBeVisited.isEmpty()) {
+        final String current = toBeVisited.removeFirst();
+        if (!created.contains(current) || !result.add(current)) continue;
+        final String[] names = dependencies.get(current);
+        if (null != names) toBeVisited.addAll(Arrays.asList(names));
+      }
+      return result;
+    }
+
+    private static long longest(final String name, final Map<String, String[]> dependencies,
+                                final Map<String, Long> self, final Map<String, Long> longest,
+                                final Map<String, String> next) {
+      final Long known = longest.get(name);
+      if (null != known) return known;
+      longest.put(name, self.get(name)); // guards against cycles
+      long max = 0;
+      final String[] names = dependencies.get(name);
+      if (null != names) for (final String dependency : names) {
+        if (!self.containsKey(dependency) || dependency.equals(name)) continue;
+        final long length = longest(dependency, dependencies, self, longest, next);
+        if (length <= max) continue;
+        max = length;
+        next.put(name, dependency);
+      }
+      longest.put(name, self.get(name) + max);
+      return self.get(name) + max;
+    }
+  }
+}
@@ -0,0 +1,63 @@
+package daggerok.context;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Java 5 friendly LongAdder: counter is split into cells, each thread increments cell chosen by it's id, so
+ * concurrent increments are not contending on single memory location. Cells are padded to separate cache lines.
+ */
+class StripedCounter {
+
+  private static final int PADDING = 8; // 8 longs = 64 bytes cache line
+  private static final int CELLS = cells();
+
+  private final int mask;
+  private final AtomicLongArray cells;
+
+  StripedCounter() {
+    this(CELLS);
+  }
+
+  /**
+   * @param maxCells maximum amount of cells, will be rounded down to power of two.
+   */
+  StripedCounter(final int maxCells) {
+    int size = 1;
+    while (size * 2 <= Math.min(maxCells, CELLS)) size <<= 1;
+    this.mask = size - 1;
+    this.cells = new AtomicLongArray(size * PADDING);
+  }
+
+  void increment() {
+    add(1);
+  }
+
+  void add(final long value) {
+    cells.addAndGet(index(), value);
+  }
+
+  long sum() {
+    long sum = 0;
+    for (int i = 0; i <= mask; i++) {
+      sum += cells.get(i * PADDING);
+    }
+    return sum;
+  }
+
+  void reset() {
+    for (int i = 0; i <= mask; i++) {
+      cells.set(i * PADDING, 0);
+    }
+  }
+
+  private int index() {
+    final long id = Thread.currentThread().getId();
+    return (int) ((id ^ (id >>> 16)) & mask) * PADDING;
+  }
+
+  private static int cells() {
+    int cells = 1;
+    while (cells < 2 * Runtime.getRuntime().availableProcessors()) cells <<= 1;
+    return cells;
+  }
+}
@@ -0,0 +1,168 @@
+package daggerok.context;
+
+import javax.inject.Provider;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.*;
+
+/**
+ * Canonical keys of generic types, so Repository&lt;User&gt; and Repository&lt;Order&gt; injection points are bound
+ * to different beans instead of colliding on the same erased class name.
+ *
+ * - class: it's name, same as bean name: my.app.User
+ * - parametrized type: raw type name followed by argument keys: my.app.Repository&lt;my.app.User&gt;
+ * - wildcard: ?, ?+key (extends) or ?-key (super), keys never contain whitespaces, so they are valid plan names
+ * - generic array: component key followed by []
+ * - type variable: not resolvable, erased class name is used instead
+ *
+ * Keys are interned and generic supertypes of bean classes are computed once per class, so matching injection
+ * points against beans costs only string comparisons. Keys of types are not cached: reflection returns new type
+ * instances on every call, so such cache would be missed anyway, while hashing them costs more than building keys.
+ */
+class TypeKeys {
+
+  private static final Map<Class<?>, String[]> supertypes =
+      Collections.synchronizedMap(new WeakHashMap<Class<?>, String[]>());
+
+  private TypeKeys() {}
+
+  /**
+   * @param constructor injector constructor.
+   * @return keys of constructor parameters: generic keys of parametrized types (except javax.inject.Provider, which is
+   *         resolved lazily by provided type), erased class names of everything else.
+   */
+  static String[] parameters(final Constructor constructor) {
+    final Class[] parameterTypes = constructor.getParameterTypes();
+    final Type[] genericTypes = constructor.getGenericParameterTypes();
+    final String[] result = new String[parameterTypes.length];
+    for (int i = 0; i < parameterTypes.length; i++) {
+      final String key = genericTypes.length == parameterTypes.length && Provider.class != parameterTypes[i]
+          && genericTypes[i] instanceof ParameterizedType ? key(genericTypes[i]) : null;
+      result[i] = null == key ? parameterTypes[i].getName() : key;
+    }
+    return result;
+  }
+
+  /**
+   * @param type any type.
+   * @return canonical interned key, or null if type contains type variables.
+   */
+  static String key(final Type type) {
+    if (type instanceof Class) return ((Class<?>) type).getName();
+    final StringBuilder key = new StringBuilder();
+    return append(key, type) ? key.toString().intern() : null;
+  }
+
+  /**
+   * @param key bean name or generic key.
+   * @return true if key is generic key of parametrized type.
+   */
+  static boolean generic(final String key) {
+    return key.indexOf('<') > 0;
+  }
+
+  /**
+   * @param key bean name or generic key.
+   * @return erased class name.
+   */
+  static String erase(final String key) {
+    final int generic = key.indexOf('<');
+    return generic < 0 ? key : key.substring(0, generic);
+  }
+
+  /**
+   * @param type bean class.
+   * @return keys of all parametrized superclasses and interfaces of bean class, which type arguments are known.
+   */
+  static String[] supertypes(final Class<?> type) {
+    final String[] known = supertypes.get(type);
+    if (null != known) return known;
+
+    final Set<String> result = new LinkedHashSet<String>();
+    collect(type, Collections.<TypeVariable<?>, Type>emptyMap(), result);
+    final String[] found = result.toArray(new String[result.size()]);
+    supertypes.put(type, found);
+    return found;
+  }
+
+  /**
+   * @param type bean class.
+   * @param key generic key.
+   * @return true if bean class implements or extends given parametrized type.
+   */
+  static boolean implementing(final Class<?> type, final String key) {
+    for (final String supertype : supertypes(type)) {
+      if (supertype.equals(key)) return true;
+    }
+    return false;
+  }
+
+  /* private API */
+
+  private static void collect(final Class<?> type, final Map<TypeVariable<?>, Type> variables,
+                              final Set<String> result) {
+    final List<Type> parents = new ArrayList<Type>(Arrays.asList(type.getGenericInterfaces()));
+    if (null != type.getGenericSuperclass()) parents.add(type.getGenericSuperclass());
+
+    for (final Type parent : parents) {
+      if (parent instanceof Class) {
+        collect((Class<?>) parent, Collections.<TypeVariable<?>, Type>emptyMap(), result); // raw supertype
+        continue;
+      }
+      if (!(parent instanceof ParameterizedType)) continue;
+
+      final ParameterizedType parametrized = (ParameterizedType) parent;
+      final Class<?> raw = (Class<?>) parametrized.getRawType();
+      final Type[] arguments = parametrized.getActualTypeArguments();
+      final TypeVariable<?>[] parameters = raw.getTypeParameters();
+      final Map<TypeVariable<?>, Type> resolved = new HashMap<TypeVariable<?>, Type>();
+      final StringBuilder key = new StringBuilder(raw.getName()).append('<');
+      boolean complete = true;
+
+      for (int i = 0; i < arguments.length; i++) {
+        final Type argument = variables.containsKey(arguments[i]) ? variables.get(arguments[i]) : arguments[i];
+        if (i < parameters.length) resolved.put(parameters[i], argument);
+        if (i > 0) key.append(',');
+        complete = complete && append(key, argument);
+      }
+
+      if (complete) result.add(key.append('>').toString().intern());
+      collect(raw, resolved, result);
+    }
+  }
+
+  private static boolean append(final StringBuilder key, final Type type) {
+    if (type instanceof Class) {
+      key.append(((Class<?>) type).getName());
+      return true;
+    }
+    if (type instanceof ParameterizedType) {
+      final ParameterizedType parametrized = (ParameterizedType) type;
+      key.append(((Class<?>) parametrized.getRawType()).getName()).append('<');
+      final Type[] arguments = parametrized.getActualTypeArguments();
+      for (int i = 0; i < arguments.length; i++) {
+        if (i > 0) key.append(',');
+        if (!append(key, arguments[i])) return false;
+      }
+      key.append('>');
+      return true;
+    }
+    if (type instanceof GenericArrayType) {
+      if (!append(key, ((GenericArrayType) type).getGenericComponentType())) return false;
+      key.append("[]");
+      return true;
+    }
+    if (type instanceof WildcardType) {
+      final WildcardType wildcard = (WildcardType) type;
+      key.append('?');
+      if (wildcard.getLowerBounds().length > 0) return append(key.append('-'), wildcard.getLowerBounds()[0]);
+      final Type[] upper = wildcard.getUpperBounds();
+      return 0 == upper.length || Object.class == upper[0] || append(key.append('+'), upper[0]);
+    }
+    return false; // type variable
+  }
+}
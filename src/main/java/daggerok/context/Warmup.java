@@ -0,0 +1,349 @@
+package daggerok.context;
+
+import daggerok.context.Finders.Finder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Type;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Asynchronous context initialization.
+ *
+ * flow:
+ *
+ * - scan base packages once and group all candidate constructors by bean name
+ * - sort beans in dependency order, beans with cyclic dependencies are skipped
+ * - create all @{@link Critical} beans and their dependencies
+ * - warm up everything else in background using given executor
+ *
+ * While warmup is in progress any bean can be requested by {@link #await(String)}: it will be created on demand in
+ * caller thread, so caller is waiting only for beans from it's own dependency chain. Every bean is created exactly
+ * once, no matter how many threads are requesting it.
+ */
+class Warmup implements Callable<DaggerokContext> {
+
+  private static final Logger log = LoggerFactory.getLogger(Warmup.class);
+
+  private static final Comparator<Constructor> byParametersCount = new Comparator<Constructor>() {
+    public int compare(final Constructor left, final Constructor right) {
+      return left.getParameterTypes().length - right.getParameterTypes().length;
+    }
+  };
+
+  final StartupReport.Recorder recorder;
+
+  private final DaggerokContext context;
+  private final Executor executor;
+  private final FutureTask<Void> discovery;
+  private final ConcurrentHashMap<String, FutureTask<Object>> inFlight = new ConcurrentHashMap<String, FutureTask<Object>>();
+  private final ThreadLocal<Set<String>> creating = new ThreadLocal<Set<String>>() {
+    @Override
+    protected Set<String> initialValue() {
+      return new HashSet<String>();
+    }
+  };
+
+  private Map<String, List<Constructor>> candidates = Collections.emptyMap();
+  private List<String> ordered = Collections.emptyList();
+  private Set<String> critical = Collections.emptySet();
+
+  Warmup(final DaggerokContext context, final Executor executor, final StartupReport.Recorder recorder) {
+    this.recorder = recorder;
+    this.context = context;
+    this.executor = executor;
+    this.discovery = new FutureTask<Void>(new Callable<Void>() {
+      public Void call() {
+        discover();
+        return null;
+      }
+    });
+  }
+
+  /**
+   * Creates all critical beans first and then the rest of them.
+   *
+   * @return fully initialized context.
+   */
+  public DaggerokContext call() {
+    try {
+
+      discovery.run();
+      get(discovery);
+
+      for (final String name : ordered) {
+        if (critical.contains(name)) await(name);
+      }
+
+      final List<FutureTask<Object>> background = new ArrayList<FutureTask<Object>>();
+      for (final String name : ordered) {
+        if (critical.contains(name)) continue;
+        final FutureTask<Object> task = task(name, null);
+        background.add(task);
+        try {
+          executor.execute(task);
+        }
+        catch (final RejectedExecutionException e) {
+          if (log.isDebugEnabled()) log.debug("warmup of {} rejected, will be created in place.", name);
+        }
+      }
+
+      // task is executed only once: if nobody else took it yet, it will be done in current thread
+      for (final FutureTask<Object> task : background) {
+        task.run();
+        get(task);
+      }
+
+      return context;
+    }
+    finally {
+      context.warmedUp(this);
+    }
+  }
+
+  /**
+   * Gets bean, or creates it with all it's dependencies if bean wasn't created yet.
+   *
+   * @param name bean name.
+   * @return bean or null if bean cannot be created.
+   */
+  Object await(final String name) {
+    final Object bean = context.lookup(name);
+    if (null != bean) return bean;
+
+    discovery.run();
+    get(discovery);
+
+    if (TypeKeys.generic(name)) {
+      for (final String candidate : implementing(name)) {
+        await(candidate);
+      }
+      return context.resolve(name);
+    }
+    if (!candidates.containsKey(name)) return context.lookup(name);
+    return create(name, null);
+  }
+
+  /**
+   * Creates all discovered beans implementing given interface.
+   *
+   * @param type interface.
+   */
+  void awaitImplementations(final Class<?> type) {
+    discovery.run();
+    get(discovery);
+    for (final String name : ordered) {
+      if (type.isAssignableFrom(candidates.get(name).get(0).getDeclaringClass())) await(name);
+    }
+  }
+
+  /* private API */
+
+  private Object resolve(final String key, final Class<?> type) {
+    final Object bean = await(key);
+    return null != bean ? bean : create(type.getName(), type);
+  }
+
+  /**
+   * @param key generic key.
+   * @return discovered beans implementing parametrized type.
+   */
+  private List<String> implementing(final String key) {
+    return implementing(key, candidates);
+  }
+
+  private static List<String> implementing(final String key, final Map<String, List<Constructor>> found) {
+    final List<String> result = new ArrayList<String>();
+    for (final Map.Entry<String, List<Constructor>> entry : found.entrySet()) {
+      if (TypeKeys.implementing(entry.getValue().get(0).getDeclaringClass(), key)) result.add(entry.getKey());
+    }
+    return result;
+  }
+
+  private Object create(final String name, final Class<?> type) {
+    if (creating.get().contains(name)) return null; // cyclic dependency
+    final FutureTask<Object> task = task(name, type);
+    task.run();
+    return get(task);
+  }
+
+  private FutureTask<Object> task(final String name, final Class<?> type) {
+    final FutureTask<Object> existing = inFlight.get(name);
+    if (null != existing) return existing;
+    final FutureTask<Object> task = new FutureTask<Object>(new Callable<Object>() {
+      public Object call() {
+        return newBean(name, type);
+      }
+    });
+    final FutureTask<Object> previous = inFlight.putIfAbsent(name, task);
+    return null == previous ? task : previous;
+  }
+
+  private Object newBean(final String name, final Class<?> type) {
+    final Object existing = context.lookup(name);
+    if (null != existing) return existing;
+
+    final List<Constructor> constructors = candidates.containsKey(name) ? candidates.get(name)
+        : null == type ? Collections.<Constructor>emptyList() : Arrays.asList(context.noArgConstructors(type));
+    final Set<String> inProgress = creating.get();
+    inProgress.add(name);
+
+    try {
+      if (!constructors.isEmpty()) {
+        final Class<?> declaringClass = constructors.get(0).getDeclaringClass();
+        for (final String condition : Conditions.beans(declaringClass)) {
+          await(condition);
+        }
+        if (!Conditions.beans(declaringClass, context)) return null;
+      }
+      for (final Constructor constructor : constructors) {
+        final Class[] parameterTypes = constructor.getParameterTypes();
+        final String[] keys = TypeKeys.parameters(constructor);
+        final Type[] lazy = LazyProxy.lazyParameters(constructor);
+        final Object[] params = new Object[parameterTypes.length];
+        int resolved = 0;
+        while (resolved < params.length && null != (params[resolved] = null != lazy && null != lazy[resolved]
+            ? context.lazy(lazy[resolved]) : resolve(keys[resolved], parameterTypes[resolved]))) resolved++;
+        if (resolved < params.length) {
+          context.skipped(constructor);
+          continue;
+        }
+        final Object bean = context.instantiate(constructor, params);
+        if (null != bean) return bean;
+      }
+      if (log.isDebugEnabled()) log.debug("bean {} cannot be created.", name);
+      return null;
+    }
+    finally {
+      inProgress.remove(name);
+    }
+  }
+
+  private <T> T get(final Future<T> future) {
+    try {
+      return future.get();
+    }
+    catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return null;
+    }
+    catch (final ExecutionException e) {
+      final Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+      if (cause instanceof Error) throw (Error) cause;
+      throw new IllegalStateException(cause);
+    }
+  }
+
+  /**
+   * Scan base packages and prepare creation order.
+   */
+  private void discover() {
+    context.awaitParent();
+    final Finder finder = context.finder();
+    final Map<String, List<Constructor>> found = new HashMap<String, List<Constructor>>();
+
+    final List<Constructor> constructors = new ArrayList<Constructor>(
+        finder.findAllComponentsConstructorsByParameterCountAndEqual(0, true));
+    for (final Constructor constructor : finder.findAllInjects()) {
+      if (constructor.getParameterTypes().length > 0) constructors.add(constructor);
+    }
+
+    for (final Constructor constructor : constructors) {
+      if (!context.active(constructor.getDeclaringClass())) continue;
+      final String name = constructor.getDeclaringClass().getName();
+      List<Constructor> list = found.get(name);
+      if (null == list) found.put(name, list = new ArrayList<Constructor>());
+      list.add(constructor);
+    }
+    for (final List<Constructor> list : found.values()) {
+      Collections.sort(list, byParametersCount);
+    }
+
+    final StartupEvents.Event event = context.events().resolution(constructors.size());
+    final List<String> order;
+    try {
+      order = order(found);
+    }
+    finally {
+      event.commit();
+    }
+    found.keySet().retainAll(new HashSet<String>(order));
+
+    final Set<String> critical = new HashSet<String>();
+    for (final String name : order) {
+      final Class<?> type = found.get(name).get(0).getDeclaringClass();
+      if (type.isAnnotationPresent(Critical.class)) critical.add(name);
+    }
+
+    this.candidates = found;
+    this.ordered = order;
+    this.critical = critical;
+    context.scanned();
+  }
+
+  /**
+   * Topological sort (Kahn's algorithm) of discovered beans.
+   * Beans which could be created by no-arg constructor are not depends on anything, as well as @{@link Lazy}
+   * parameters, except beans referenced by @{@link Conditional} bean conditions.
+   *
+   * @param found bean names to candidate constructors.
+   * @return bean names in dependency order, excluding beans with cyclic dependencies.
+   */
+  private static List<String> order(final Map<String, List<Constructor>> found) {
+    final Map<String, Integer> dependenciesLeft = new HashMap<String, Integer>();
+    final Map<String, List<String>> dependents = new HashMap<String, List<String>>();
+
+    for (final Map.Entry<String, List<Constructor>> entry : found.entrySet()) {
+      final Set<String> dependencies = new HashSet<String>();
+      for (final String condition : Conditions.beans(entry.getValue().get(0).getDeclaringClass())) {
+        if (found.containsKey(condition)) dependencies.add(condition);
+      }
+      if (entry.getValue().get(0).getParameterTypes().length > 0) {
+        for (final Constructor constructor : entry.getValue()) {
+          final Type[] lazy = LazyProxy.lazyParameters(constructor);
+          final String[] keys = TypeKeys.parameters(constructor);
+          for (int i = 0; i < keys.length; i++) {
+            if (null != lazy && null != lazy[i]) continue; // lazy dependency could be created afterwards
+            if (found.containsKey(keys[i])) dependencies.add(keys[i]);
+            else if (TypeKeys.generic(keys[i])) dependencies.addAll(implementing(keys[i], found));
+          }
+        }
+      }
+      dependenciesLeft.put(entry.getKey(), dependencies.size());
+      for (final String dependency : dependencies) {
+        List<String> list = dependents.get(dependency);
+        if (null == list) dependents.put(dependency, list = new ArrayList<String>());
+        list.add(entry.getKey());
+      }
+    }
+
+    final LinkedList<String> ready = new LinkedList<String>();
+    for (final Map.Entry<String, Integer> entry : dependenciesLeft.entrySet()) {
+      if (0 == entry.getValue()) ready.add(entry.getKey());
+    }
+
+    final List<String> order = new ArrayList<String>(found.size());
+    while (!ready.isEmpty()) {
+      final String name = ready.removeFirst();
+      order.add(name);
+      final List<String> list = dependents.get(name);
+      if (null == list) continue;
+      for (final String dependent : list) {
+        final int left = dependenciesLeft.get(dependent) - 1;
+        dependenciesLeft.put(dependent, left);
+        if (0 == left) ready.add(dependent);
+      }
+    }
+
+    if (order.size() < found.size() && log.isDebugEnabled()) {
+      final Set<String> skipped = new HashSet<String>(found.keySet());
+      skipped.removeAll(order);
+      log.debug("beans with cyclic dependencies will be skipped: {}", skipped);
+    }
+
+    return order;
+  }
+}
@@ -0,0 +1,324 @@
+package daggerok.context;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Provider;
+import java.io.*;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.*;
+
+import static daggerok.context.Requires.requireNonNull;
+
+/**
+ * Build-time generator of plain Java wiring.
+ *
+ * Runs regular discovery and resolution for given context configuration and emits Java class, which creates the same
+ * object graph with plain `new` calls in dependency order and direct @{@link PostConstruct} calls. Generated class
+ * exposes typed accessor for each bean as well as the same getBean lookups as {@link DaggerokContext}, so startup
+ * doesn't need scanning and reflection:
+ *
+ *   java -cp ... daggerok.context.WiringGenerator my.app.AppWiring target/generated-sources/wiring my.app
+ *
+ *   final AppWiring wiring = new AppWiring();
+ *   final MyService myService = wiring.getMyService();
+ *   final DaggerokContext applicationContext = wiring.getContext();
+ *
+ * Beans constructors and @PostConstruct callbacks must be public. Beans which couldn't be created during discovery
+ * are listed in generated class javadoc. @{@link Lazy} dependencies are created eagerly, before their dependents,
+ * javax.inject.Provider parameters are generated as typed context lookups of beans they are resolved to.
+ *
+ * Generation instantiates beans of given context: constructors and @{@link PostConstruct} callbacks are called, and
+ * context is closed afterwards, so @PreDestroy callbacks are called as well.
+ */
+public class WiringGenerator {
+
+  private static final Logger log = LoggerFactory.getLogger(WiringGenerator.class);
+
+  /**
+   * Generates wiring source file.
+   *
+   * @param args generated class name, output source directory and base packages to be scanned.
+   * @throws IOException if source cannot be written.
+   */
+  public static void main(final String[] args) throws IOException {
+    if (args.length < 3) {
+      System.err.println("usage: WiringGenerator <generated class name> <source directory> <base package>...");
+      System.exit(1);
+    }
+    final String[] basePackages = new String[args.length - 2];
+    System.arraycopy(args, 2, basePackages, 0, basePackages.length);
+    final File file = generate(DaggerokContext.create(basePackages), args[0], new File(args[1]));
+    log.info("wiring {} was generated: {}", args[0], file);
+  }
+
+  /**
+   * @param context configured, but not initialized context, closed after beans were created and wiring recorded.
+   * @param className generated class fully qualified name.
+   * @param sourceDirectory output sources root.
+   * @return written source file.
+   * @throws IOException if source cannot be written.
+   */
+  public static File generate(final DaggerokContext context, final String className, final File sourceDirectory)
+      throws IOException {
+
+    requireNonNull(sourceDirectory, "source directory");
+    final String source = generate(context, className);
+    final File file = new File(sourceDirectory, className.replace('.', File.separatorChar) + ".java");
+    final File parent = file.getParentFile();
+    if (!parent.isDirectory() && !parent.mkdirs()) throw new IOException("cannot create " + parent);
+
+    final Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+    try {
+      writer.write(source);
+    }
+    finally {
+      writer.close();
+    }
+    return file;
+  }
+
+  /**
+   * @param context configured, but not initialized context, closed after beans were created and wiring recorded.
+   * @param className generated class fully qualified name.
+   * @return generated source.
+   * @throws IllegalStateException if any bean constructor or @PostConstruct callback is not public.
+   */
+  public static String generate(final DaggerokContext context, final String className) {
+    requireNonNull(context, "context");
+    requireNonNull(className, "generated class name");
+    final WiringPlan plan;
+    try {
+      plan = context.initializeAndRecord();
+    }
+    finally {
+      context.close();
+    }
+    return new WiringGenerator(plan, className).source();
+  }
+
+  /* private API */
+
+  private final WiringPlan plan;
+  private final String packageName;
+  private final String simpleName;
+  private final Map<String, String> fields = new LinkedHashMap<String, String>();
+  private final Set<String> usedNames = new HashSet<String>();
+  private final Map<String, String[]> beans = new HashMap<String, String[]>();
+  private final List<String[]> ordered = new ArrayList<String[]>();
+
+  private WiringGenerator(final WiringPlan plan, final String className) {
+    this.plan = plan;
+    final int dot = className.lastIndexOf('.');
+    this.packageName = dot < 0 ? "" : className.substring(0, dot);
+    this.simpleName = className.substring(dot + 1);
+    usedNames.add("context");
+    for (final String[] names : plan.beans) {
+      fields.put(names[0], uniqueName(names[0]));
+      beans.put(names[0], names);
+    }
+    final Set<String> visiting = new HashSet<String>();
+    final Set<String> done = new HashSet<String>();
+    for (final String[] names : plan.beans) {
+      order(names, visiting, done);
+    }
+  }
+
+  /**
+   * Plan order, except @{@link Lazy} dependencies which could be created after their dependents.
+   *
+   * @param names bean name followed by it's dependencies names.
+   * @param visiting beans which dependencies are being ordered.
+   * @param done already ordered beans.
+   */
+  private void order(final String[] names, final Set<String> visiting, final Set<String> done) {
+    if (done.contains(names[0])) return;
+    if (!visiting.add(names[0]))
+      throw new IllegalStateException("bean " + names[0] + " has cyclic lazy dependencies and cannot be generated.");
+    for (int i = 1; i < names.length; i++) {
+      if (null == provided(names, i)) order(beans.get(dependency(names[0], names[i])), visiting, done);
+    }
+    visiting.remove(names[0]);
+    done.add(names[0]);
+    ordered.add(names);
+  }
+
+  /**
+   * @param name dependent bean name.
+   * @param dependency dependency name: parameter key or provided type name.
+   * @return bean name created by context for given dependency: the same name, otherwise the only bean implementing
+   *         dependency interface or parametrized type.
+   */
+  private String dependency(final String name, final String dependency) {
+    if (fields.containsKey(dependency)) return dependency;
+    final boolean generic = TypeKeys.generic(dependency);
+    String found = null;
+    try {
+      final Class<?> type = WiringPlan.load(TypeKeys.erase(dependency));
+      for (final String bean : fields.keySet()) {
+        final Class<?> beanType = WiringPlan.load(bean);
+        if (generic ? !TypeKeys.implementing(beanType, dependency) : !type.isAssignableFrom(beanType)) continue;
+        if (null != found) throw new IllegalStateException("several beans are implementing " + dependency);
+        found = bean;
+      }
+    }
+    catch (final ClassNotFoundException e) {
+      throw new IllegalStateException("bean " + name + " dependency " + dependency + " is not available.", e);
+    }
+    final String erased = TypeKeys.erase(dependency);
+    if (null == found && generic && fields.containsKey(erased)) return erased;
+    if (null == found)
+      throw new IllegalStateException("bean " + name + " dependency " + dependency + " wasn't created by context.");
+    return found;
+  }
+
+  private String source() {
+    final StringBuilder java = new StringBuilder();
+    if (!"".equals(packageName)) java.append("package ").append(packageName).append(";\n\n");
+
+    java.append("/**\n * Generated by ").append(WiringGenerator.class.getName()).append(", do not edit.\n");
+    if (!plan.skipped.isEmpty() || !plan.failed.isEmpty()) java.append(" *\n * Not created beans:\n");
+    for (final String[] skipped : plan.skipped) {
+      java.append(" * - ").append(skipped[0]).append(": unresolved dependencies\n");
+    }
+    for (final String failed : plan.failed) {
+      java.append(" * - ").append(failed).append(": construction failed\n");
+    }
+    java.append(" */\n")
+        .append("public class ").append(simpleName).append(" {\n\n")
+        .append("  private final daggerok.context.DaggerokContext context = ")
+        .append("daggerok.context.DaggerokContext.create();\n");
+
+    for (final String[] names : plan.beans) {
+      java.append("  private final ").append(sourceName(names[0])).append(' ').append(fields.get(names[0]))
+          .append(";\n");
+    }
+
+    java.append("\n  public ").append(simpleName).append("() {\n");
+    for (final String[] names : ordered) {
+      final String field = fields.get(names[0]);
+      java.append("    ").append(field).append(" = new ").append(sourceName(names[0])).append('(');
+      for (int i = 1; i < names.length; i++) {
+        if (i > 1) java.append(", ");
+        final Type provided = provided(names, i);
+        if (null == provided) {
+          java.append(fields.get(dependency(names[0], names[i])));
+          continue;
+        }
+        final String key = TypeKeys.key(provided);
+        final Class<?> raw = provided instanceof Class ? (Class<?>) provided
+                                                       : (Class<?>) ((ParameterizedType) provided).getRawType();
+        final String type = null == key ? sourceName(raw.getName()) : sourceType(provided);
+        java.append("new javax.inject.Provider<").append(type).append(">() {\n")
+            .append("      public ").append(type).append(" get() {\n")
+            .append("        return context.<").append(type).append(">getBean(\"")
+            .append(dependency(names[0], null == key ? raw.getName() : key)).append("\");\n")
+            .append("      }\n    }");
+      }
+      java.append(");\n");
+      for (final String callback : postConstruct(names)) {
+        java.append("    ").append(field).append('.').append(callback).append("();\n");
+      }
+      java.append("    context.register(\"").append(names[0]).append("\", ").append(field).append(");\n");
+    }
+    java.append("    context.register(daggerok.context.DaggerokContext.class, context);\n  }\n");
+
+    for (final String[] names : plan.beans) {
+      final String field = fields.get(names[0]);
+      java.append("\n  public ").append(sourceName(names[0])).append(" get")
+          .append(Character.toUpperCase(field.charAt(0))).append(field.substring(1)).append("() {\n")
+          .append("    return ").append(field).append(";\n  }\n");
+    }
+
+    java.append("\n  public daggerok.context.DaggerokContext getContext() {\n    return context;\n  }\n")
+        .append("\n  public <T> T getBean(final Class<T> type) {\n    return context.getBean(type);\n  }\n")
+        .append("\n  public <T> T getBean(final String name, final Class<T> type) {\n")
+        .append("    return context.getBean(name, type);\n  }\n")
+        .append("\n  public <T> T getBean(final String name) {\n    return context.<T>getBean(name);\n  }\n")
+        .append("}\n");
+    return java.toString();
+  }
+
+  /**
+   * @param names bean name followed by it's dependencies names.
+   * @param index dependency index.
+   * @return provided bean type (class or parametrized type) if dependency is javax.inject.Provider, otherwise null.
+   */
+  private Type provided(final String[] names, final int index) {
+    if (!Provider.class.getName().equals(names[index])) return null;
+    final Type[] lazy = LazyProxy.lazyParameters(constructor(names));
+    if (null == lazy || null == LazyProxy.providedType(lazy[index - 1])) return null;
+    return ((ParameterizedType) lazy[index - 1]).getActualTypeArguments()[0];
+  }
+
+  private static Constructor constructor(final String[] names) {
+    try {
+      return WiringPlan.constructor(names);
+    }
+    catch (final Exception e) {
+      throw new IllegalStateException("bean " + names[0] + " constructor is not available: " + e, e);
+    }
+  }
+
+  private List<String> postConstruct(final String[] names) {
+    final Constructor constructor = constructor(names);
+    final Class<?> type = constructor.getDeclaringClass();
+    if (!Modifier.isPublic(type.getModifiers()) || !Modifier.isPublic(constructor.getModifiers()))
+      throw new IllegalStateException("bean " + names[0] + " constructor must be public to be generated.");
+
+    final List<String> result = new ArrayList<String>();
+    for (final Method method : Lifecycles.callbacks(type, PostConstruct.class)) {
+      if (!Modifier.isPublic(method.getModifiers()) || !Modifier.isPublic(method.getDeclaringClass().getModifiers()))
+        throw new IllegalStateException("@PostConstruct " + method + " must be public to be generated.");
+      result.add(method.getName());
+    }
+    return result;
+  }
+
+  private String uniqueName(final String className) {
+    final String simple = className.substring(Math.max(className.lastIndexOf('.'), className.lastIndexOf('$')) + 1);
+    final String base = Character.toLowerCase(simple.charAt(0)) + simple.substring(1);
+    String name = base;
+    for (int i = 2; !usedNames.add(name); i++) {
+      name = base + i;
+    }
+    return name;
+  }
+
+  private static String sourceName(final String className) {
+    return className.replace('$', '.');
+  }
+
+  /**
+   * @param type class or parametrized type without type variables.
+   * @return java source representation.
+   */
+  private static String sourceType(final Type type) {
+    if (type instanceof Class) {
+      final Class<?> clazz = (Class<?>) type;
+      return clazz.isArray() ? sourceType(clazz.getComponentType()) + "[]" : sourceName(clazz.getName());
+    }
+    if (type instanceof GenericArrayType) return sourceType(((GenericArrayType) type).getGenericComponentType()) + "[]";
+    if (type instanceof WildcardType) {
+      final WildcardType wildcard = (WildcardType) type;
+      if (wildcard.getLowerBounds().length > 0) return "? super " + sourceType(wildcard.getLowerBounds()[0]);
+      final Type[] upper = wildcard.getUpperBounds();
+      return 0 == upper.length || Object.class == upper[0] ? "?" : "? extends " + sourceType(upper[0]);
+    }
+    final ParameterizedType parametrized = (ParameterizedType) type;
+    final StringBuilder source = new StringBuilder(sourceType(parametrized.getRawType())).append('<');
+    final Type[] arguments = parametrized.getActualTypeArguments();
+    for (int i = 0; i < arguments.length; i++) {
+      if (i > 0) source.append(", ");
+      source.append(sourceType(arguments[i]));
+    }
+    return source.append('>').toString();
+  }
+}
@@ -0,0 +1,305 @@
+package daggerok.context;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.lang.reflect.Constructor;
+import java.net.URL;
+import java.net.URLDecoder;
+import java.security.MessageDigest;
+import java.util.*;
+
+/**
+ * Resolved construction plan of initialized context: ordered list of constructors with their parameter bindings, as
+ * well as beans which were skipped (unresolved dependencies), failed (construction error) or disabled (not matched
+ * @{@link Conditional} conditions).
+ *
+ * Plan is valid only for the same fingerprint: base packages, annotations and classes found in base packages
+ * (names, sizes and modification times).
+ *
+ * file format, one record per line:
+ *
+ *   fingerprint 2f1d...
+ *   bean my.app.MyRepository
+ *   bean my.app.MyService my.app.MyRepository
+ *   bean my.app.UserService my.app.Repository<my.app.User>
+ *   skipped my.app.Unresolved my.app.Missing
+ *   failed my.app.Broken
+ *   disabled my.app.MetricsExporter
+ */
+class WiringPlan {
+
+  private static final Logger log = LoggerFactory.getLogger(WiringPlan.class);
+
+  private static final String VERSION = "daggerok-context-wiring-plan-2";
+  private static final String FINGERPRINT = "fingerprint";
+  private static final String BEAN = "bean";
+  private static final String SKIPPED = "skipped";
+  private static final String FAILED = "failed";
+  private static final String DISABLED = "disabled";
+
+  final String fingerprint;
+  final List<String[]> beans = new ArrayList<String[]>();
+  final List<String[]> skipped = new ArrayList<String[]>();
+  final List<String> failed = new ArrayList<String>();
+  final List<String> disabled = new ArrayList<String>();
+
+  WiringPlan(final String fingerprint) {
+    this.fingerprint = fingerprint;
+  }
+
+  /* recording */
+
+  /**
+   * @param constructor constructor was used for bean creation, in creation order.
+   */
+  synchronized void created(final Constructor constructor) {
+    beans.add(names(constructor));
+  }
+
+  /**
+   * @param constructor constructor which parameters couldn't be resolved.
+   */
+  synchronized void skipped(final Constructor constructor) {
+    skipped.add(names(constructor));
+  }
+
+  /**
+   * @param type bean type which construction failed.
+   */
+  synchronized void failed(final Class<?> type) {
+    if (!failed.contains(type.getName())) failed.add(type.getName());
+  }
+
+  /**
+   * @param type @{@link Conditional} bean type which conditions are not matched.
+   */
+  synchronized void disabled(final Class<?> type) {
+    if (!disabled.contains(type.getName())) disabled.add(type.getName());
+  }
+
+  /* persistence */
+
+  /**
+   * Writes plan into temporary file and moves it into place, so readers never see partially written plan.
+   *
+   * @param file plan file.
+   */
+  synchronized void write(final File file) {
+    final File parent = file.getAbsoluteFile().getParentFile();
+    File temporary = null;
+    try {
+      if (null != parent && !parent.exists() && !parent.mkdirs()) throw new IOException("cannot create " + parent);
+      temporary = File.createTempFile(file.getName() + ".plan", ".tmp", parent);
+      final Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(temporary), "UTF-8"));
+      try {
+        writer.write(FINGERPRINT + " " + fingerprint + "\n");
+        for (final String[] bean : beans) writer.write(line(BEAN, bean));
+        for (final String[] constructor : skipped) writer.write(line(SKIPPED, constructor));
+        for (final String type : failed) writer.write(FAILED + " " + type + "\n");
+        for (final String type : disabled) writer.write(DISABLED + " " + type + "\n");
+      }
+      finally {
+        writer.close();
+      }
+      if (!temporary.renameTo(file) && !(file.delete() && temporary.renameTo(file)))
+        throw new IOException("cannot move " + temporary + " to " + file);
+    }
+    catch (final IOException e) {
+      log.warn("wiring plan {} wasn't written: {}", file, e.getLocalizedMessage());
+      if (null != temporary && temporary.exists() && !temporary.delete()) temporary.deleteOnExit();
+    }
+  }
+
+  /**
+   * @param file plan file.
+   * @return recorded plan or null if file doesn't exists or cannot be read.
+   */
+  static WiringPlan read(final File file) {
+    if (!file.isFile()) return null;
+    try {
+      final BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), "UTF-8"));
+      try {
+        final String[] header = split(reader.readLine());
+        if (header.length != 2 || !FINGERPRINT.equals(header[0])) return null;
+        final WiringPlan plan = new WiringPlan(header[1]);
+        for (String line = reader.readLine(); null != line; line = reader.readLine()) {
+          final String[] record = split(line);
+          if (record.length < 2) continue;
+          final String[] names = new String[record.length - 1];
+          System.arraycopy(record, 1, names, 0, names.length);
+          if (BEAN.equals(record[0])) plan.beans.add(names);
+          else if (SKIPPED.equals(record[0])) plan.skipped.add(names);
+          else if (FAILED.equals(record[0])) plan.failed.add(names[0]);
+          else if (DISABLED.equals(record[0])) plan.disabled.add(names[0]);
+        }
+        return plan;
+      }
+      finally {
+        reader.close();
+      }
+    }
+    catch (final IOException e) {
+      if (log.isDebugEnabled()) log.debug("wiring plan {} cannot be read: {}", file, e.getLocalizedMessage());
+      return null;
+    }
+  }
+
+  /* replay */
+
+  /**
+   * @param names bean name followed by parameters keys, or by names of beans injected into parameters.
+   * @return bean constructor: with exactly the same parameters keys, otherwise the only one, which parameters are
+   *         assignable from given beans.
+   * @throws ClassNotFoundException if bean or any of parameter types is not available anymore.
+   * @throws NoSuchMethodException if bean constructor is not available anymore.
+   */
+  static Constructor constructor(final String[] names) throws ClassNotFoundException, NoSuchMethodException {
+    final Class<?> type = load(names[0]);
+    final Class<?>[] parameterTypes = new Class<?>[names.length - 1];
+    boolean generic = false;
+    for (int i = 1; i < names.length; i++) {
+      parameterTypes[i - 1] = load(TypeKeys.erase(names[i]));
+      generic = generic || TypeKeys.generic(names[i]);
+    }
+    if (!generic) {
+      try {
+        return type.getDeclaredConstructor(parameterTypes);
+      }
+      catch (final NoSuchMethodException e) {
+        if (log.isDebugEnabled()) log.debug("{} has no constructor {}, looking for assignable one", type, e.toString());
+      }
+    }
+
+    final List<String> keys = Arrays.asList(names).subList(1, names.length);
+    Constructor assignable = null;
+    for (final Constructor constructor : type.getDeclaredConstructors()) {
+      if (keys.equals(Arrays.asList(TypeKeys.parameters(constructor)))) return constructor;
+      if (assignable(constructor.getParameterTypes(), parameterTypes)) assignable = constructor;
+    }
+    if (null == assignable) throw new NoSuchMethodException(type.getName() + keys);
+    return assignable;
+  }
+
+  private static boolean assignable(final Class<?>[] parameterTypes, final Class<?>[] beanTypes) {
+    if (parameterTypes.length != beanTypes.length) return false;
+    for (int i = 0; i < parameterTypes.length; i++) {
+      if (!parameterTypes[i].isAssignableFrom(beanTypes[i])) return false;
+    }
+    return true;
+  }
+
+  static Class<?> load(final String name) throws ClassNotFoundException {
+    final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+    try {
+      return Class.forName(name, false, null == classLoader ? WiringPlan.class.getClassLoader() : classLoader);
+    }
+    catch (final ClassNotFoundException e) {
+      return Class.forName(name, false, WiringPlan.class.getClassLoader());
+    }
+  }
+
+  /* fingerprint */
+
+  /**
+   * @param basePackages base packages.
+   * @param componentAnnotation component annotation.
+   * @param injectAnnotation inject annotation.
+   * @param autowiring autowiring policy.
+   * @param profiles active profiles.
+   * @return hash of configuration and class files (names, sizes and modification times) found in base packages.
+   */
+  static String fingerprint(final List<String> basePackages, final Class componentAnnotation,
+                            final Class injectAnnotation, final AutowiringPolicy autowiring,
+                            final Set<String> profiles) {
+
+    final StringBuilder content = new StringBuilder(VERSION).append('\n')
+        .append(componentAnnotation.getName()).append('\n')
+        .append(injectAnnotation.getName()).append('\n')
+        .append(autowiring).append('\n')
+        .append(new TreeSet<String>(profiles)).append('\n');
+
+    final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+    final ClassLoader classLoader = null == contextClassLoader ? WiringPlan.class.getClassLoader() : contextClassLoader;
+
+    for (final String basePackage : new TreeSet<String>(basePackages)) {
+      content.append("package ").append(basePackage).append('\n');
+      try {
+        final Enumeration<URL> resources = classLoader.getResources(basePackage.replace('.', '/'));
+        while (resources.hasMoreElements()) {
+          append(content, resources.nextElement());
+        }
+      }
+      catch (final IOException e) {
+        content.append(e.toString()).append('\n');
+      }
+      if (!"".equals(basePackage)) continue;
+      for (final String entry : System.getProperty("java.class.path", "").split(File.pathSeparator)) {
+        append(content, new File(entry));
+      }
+    }
+
+    try {
+      final byte[] digest = MessageDigest.getInstance("MD5").digest(content.toString().getBytes("UTF-8"));
+      final StringBuilder result = new StringBuilder();
+      for (final byte b : digest) {
+        result.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+      }
+      return result.toString();
+    }
+    catch (final Exception e) { // MD5 and UTF-8 are always available
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /* private API */
+
+  private static void append(final StringBuilder content, final URL url) {
+    try {
+      if ("file".equals(url.getProtocol())) {
+        append(content, new File(URLDecoder.decode(url.getPath(), "UTF-8")));
+        return;
+      }
+      final String path = url.getPath();
+      if ("jar".equals(url.getProtocol()) && path.startsWith("file:") && path.contains("!/")) {
+        append(content, new File(URLDecoder.decode(path.substring("file:".length(), path.indexOf("!/")), "UTF-8")));
+        return;
+      }
+    }
+    catch (final UnsupportedEncodingException ignored) {}
+    content.append(url).append('\n');
+  }
+
+  private static void append(final StringBuilder content, final File file) {
+    content.append(file.getPath()).append(' ').append(file.length()).append(' ').append(file.lastModified())
+           .append('\n');
+    if (!file.isDirectory()) return;
+    final File[] files = file.listFiles();
+    if (null == files) return;
+    Arrays.sort(files);
+    for (final File child : files) {
+      append(content, child);
+    }
+  }
+
+  static String[] names(final Constructor constructor) {
+    final String[] keys = TypeKeys.parameters(constructor);
+    final String[] names = new String[keys.length + 1];
+    names[0] = constructor.getDeclaringClass().getName();
+    System.arraycopy(keys, 0, names, 1, keys.length);
+    return names;
+  }
+
+  private static String line(final String kind, final String[] names) {
+    final StringBuilder line = new StringBuilder(kind);
+    for (final String name : names) {
+      line.append(' ').append(name);
+    }
+    return line.append('\n').toString();
+  }
+
+  private static String[] split(final String line) {
+    return null == line ? new String[0] : line.trim().split("\\s+");
+  }
+}
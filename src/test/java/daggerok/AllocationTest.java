@@ -0,0 +1,125 @@
+package daggerok;
+
+import daggerok.apps.chain.large.Large01;
+import daggerok.apps.chain.large.Large12;
+import daggerok.apps.chain.small.Small1;
+import daggerok.apps.chain.small.Small3;
+import daggerok.context.DaggerokContext;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Per-thread allocated bytes budgets (com.sun.management.ThreadMXBean allocation counters) of lookup and startup.
+ */
+public class AllocationTest {
+
+  private static final int LOOKUPS = 100000;
+  private static final long LOOKUPS_BUDGET = 0;
+  private static final long INITIALIZE_BUDGET = 1024 * 1024; // mostly components scan
+  private static final long BEAN_BUDGET = 64 * 1024;
+  private static final int SMALL_BEANS = 3;
+  private static final int LARGE_BEANS = 12;
+
+  private static ThreadMXBean threads;
+  private static Method allocatedBytes;
+  private static long overhead;
+
+  @BeforeClass
+  public static void setUp() throws Exception {
+    threads = ManagementFactory.getThreadMXBean();
+    try {
+      final Class<?> type = Class.forName("com.sun.management.ThreadMXBean");
+      type.getMethod("setThreadAllocatedMemoryEnabled", boolean.class).invoke(threads, true);
+      allocatedBytes = type.getMethod("getThreadAllocatedBytes", long.class);
+    }
+    catch (final Exception e) {
+      allocatedBytes = null;
+    }
+    assumeTrue(null != allocatedBytes && allocated() > 0);
+
+    overhead = Long.MAX_VALUE;
+    for (int i = 0; i < 1000; i++) {
+      overhead = Math.min(overhead, -allocated() + allocated());
+    }
+  }
+
+  @Test
+  public void get_bean_by_class_does_not_allocate_test() throws Exception {
+
+    final DaggerokContext applicationContext = DaggerokContext.create(Small1.class).initialize();
+    final Class<Small3> type = Small3.class;
+
+    long bytes = Long.MAX_VALUE;
+    for (int attempt = 0; attempt < 10; attempt++) {
+      final long start = allocated();
+      for (int i = 0; i < LOOKUPS; i++) {
+        if (null == applicationContext.getBean(type)) throw new AssertionError("bean not found.");
+      }
+      bytes = Math.min(bytes, allocated() - start - overhead);
+    }
+    assertThat(bytes).isLessThanOrEqualTo(LOOKUPS_BUDGET);
+  }
+
+  @Test
+  public void get_bean_by_name_does_not_allocate_test() throws Exception {
+
+    final DaggerokContext applicationContext = DaggerokContext.create(Small1.class).initialize();
+    final String name = Small3.class.getName();
+
+    long bytes = Long.MAX_VALUE;
+    for (int attempt = 0; attempt < 10; attempt++) {
+      final long start = allocated();
+      for (int i = 0; i < LOOKUPS; i++) {
+        if (null == applicationContext.getBean(name, Small3.class)) throw new AssertionError("bean not found.");
+        if (null == applicationContext.getBean(name)) throw new AssertionError("bean not found.");
+      }
+      bytes = Math.min(bytes, allocated() - start - overhead);
+    }
+    assertThat(bytes).isLessThanOrEqualTo(LOOKUPS_BUDGET);
+  }
+
+  @Test
+  public void initialize_allocation_grows_linearly_test() throws Exception {
+
+    final long small = initialize(Small1.class, Small3.class, false);
+    final long large = initialize(Large01.class, Large12.class, false);
+
+    assertThat(small).isLessThanOrEqualTo(INITIALIZE_BUDGET);
+    assertThat((large - small) / (LARGE_BEANS - SMALL_BEANS)).isLessThanOrEqualTo(BEAN_BUDGET);
+  }
+
+  @Test
+  public void cached_initialize_allocates_less_than_scan_test() throws Exception {
+
+    final long scanned = initialize(Large01.class, Large12.class, false);
+    final long replayed = initialize(Large01.class, Large12.class, true);
+
+    assertThat(replayed).isLessThan(scanned);
+  }
+
+  /* helpers */
+
+  private static long initialize(final Class<?> basePackageClass, final Class<?> last, final boolean scanCache)
+      throws Exception {
+    long bytes = Long.MAX_VALUE;
+    for (int attempt = 0; attempt < 5; attempt++) {
+      final long start = allocated();
+      final DaggerokContext applicationContext = DaggerokContext.create(basePackageClass).withScanCache(scanCache)
+                                                                .initialize();
+      bytes = Math.min(bytes, allocated() - start - overhead);
+      assertThat(applicationContext.getBean(last)).isNotNull();
+    }
+    return bytes;
+  }
+
+  private static long allocated() throws Exception {
+    return (Long) allocatedBytes.invoke(threads, Thread.currentThread().getId());
+  }
+}
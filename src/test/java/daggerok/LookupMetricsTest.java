@@ -0,0 +1,61 @@
+package daggerok;
+
+import daggerok.apps.app.MyService;
+import daggerok.context.DaggerokContext;
+import daggerok.context.LookupMetricsMBean;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LookupMetricsTest {
+
+  @Test
+  public void metrics_are_disabled_by_default_test() {
+
+    final DaggerokContext applicationContext = DaggerokContext.create(MyService.class).initialize();
+
+    assertThat(applicationContext.getMetrics()).isNull();
+  }
+
+  @Test
+  public void lookup_metrics_test() throws Exception {
+
+    final DaggerokContext applicationContext = DaggerokContext.create(MyService.class)
+                                                              .withMetrics(true)
+                                                              .initialize();
+    final LookupMetricsMBean metrics = applicationContext.getMetrics();
+    assertThat(metrics.getLookupCount()).isZero();
+    assertThat(metrics.getCreationCounts().get("singleton")).isGreaterThanOrEqualTo(3);
+
+    applicationContext.getBean(MyService.class);
+    applicationContext.getBean(MyService.class.getName(), MyService.class);
+    applicationContext.getBean("unknown");
+
+    assertThat(metrics.getLookupCount()).isEqualTo(3);
+    assertThat(metrics.getMissCount()).isEqualTo(1);
+    assertThat(metrics.getLookupCounts().get(MyService.class.getName())).isEqualTo(2);
+    assertThat(metrics.getMissCounts()).containsOnlyKeys("unknown");
+
+    long created = 0;
+    for (final long bucket : metrics.creationLatencyHistogram("singleton")) {
+      created += bucket;
+    }
+    assertThat(created).isEqualTo(metrics.getCreationCounts().get("singleton"));
+
+    final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    final Set<ObjectName> names = server.queryNames(new ObjectName("daggerok.context:type=DaggerokContext,*"), null);
+    assertThat(names).isNotEmpty();
+    final int registered = names.size();
+
+    applicationContext.close();
+
+    assertThat(applicationContext.getMetrics()).isNull();
+    assertThat(server.queryNames(new ObjectName("daggerok.context:type=DaggerokContext,*"), null))
+        .hasSize(registered - 1);
+  }
+}
@@ -0,0 +1,92 @@
+package daggerok;
+
+import daggerok.context.DaggerokContext;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+public class RegistrationBatchTest {
+
+  @Test
+  public void register_all_test() {
+
+    final Map<String, Object> beans = new HashMap<String, Object>();
+    beans.put("java.lang.String", "Hello, World!");
+    beans.put("myNumber", 42);
+
+    final DaggerokContext applicationContext = DaggerokContext.create().registerAll(beans).initialize();
+
+    assertThat(applicationContext.getBean(String.class)).isEqualTo("Hello, World!");
+    assertThat(applicationContext.getBean("myNumber", Integer.class)).isEqualTo(42);
+    assertThat(applicationContext.size()).isEqualTo(3);
+  }
+
+  @Test
+  public void invalid_batch_is_not_published_test() {
+
+    final Map<String, Object> beans = new LinkedHashMap<String, Object>();
+    beans.put("java.lang.String", "Hello, World!");
+    beans.put("nothing", null);
+
+    final DaggerokContext applicationContext = DaggerokContext.create();
+    try {
+      applicationContext.registerAll(beans);
+      fail("null bean must be rejected.");
+    }
+    catch (final NullPointerException e) {
+      assertThat(applicationContext.getBean(String.class)).isNull();
+    }
+
+    try {
+      applicationContext.batch().register("java.lang.Integer", 1).register((Class) Integer.class, "one");
+      fail("bean of other type must be rejected.");
+    }
+    catch (final IllegalArgumentException e) {
+      assertThat(applicationContext.getBean(Integer.class)).isNull();
+    }
+  }
+
+  @Test
+  public void partial_batch_is_never_observed_test() throws Exception {
+
+    final DaggerokContext applicationContext = DaggerokContext.create();
+    final AtomicBoolean done = new AtomicBoolean(false);
+    final AtomicInteger partial = new AtomicInteger();
+    final CountDownLatch started = new CountDownLatch(1);
+
+    final Thread reader = new Thread(new Runnable() {
+      public void run() {
+        started.countDown();
+        while (!done.get()) {
+          // once first bean of batch is visible all the rest must be visible as well
+          if (null == applicationContext.getBean("bean0")) continue;
+          for (int i = 1; i < 1000; i++) {
+            if (null == applicationContext.getBean("bean" + i)) partial.incrementAndGet();
+          }
+          return;
+        }
+      }
+    });
+    reader.start();
+    started.await();
+
+    final Map<String, Object> beans = new HashMap<String, Object>();
+    for (int i = 0; i < 1000; i++) {
+      beans.put("bean" + i, i);
+    }
+    applicationContext.registerAll(beans);
+    done.set(true);
+    reader.join();
+
+    assertThat(partial.get()).isZero();
+    assertThat(applicationContext.size()).isEqualTo(1000);
+  }
+}
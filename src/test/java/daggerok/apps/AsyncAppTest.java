@@ -0,0 +1,74 @@
+package daggerok.apps;
+
+import daggerok.apps.async.CriticalService;
+import daggerok.apps.async.ReportService;
+import daggerok.apps.async.SlowService;
+import daggerok.context.DaggerokContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AsyncAppTest {
+
+  private ExecutorService executor;
+
+  @Before
+  public void setUp() {
+    executor = Executors.newFixedThreadPool(2);
+    SlowService.gate = new CountDownLatch(1);
+  }
+
+  @After
+  public void tearDown() {
+    SlowService.gate.countDown();
+    SlowService.gate = null;
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void critical_bean_is_available_before_whole_context_initialized_test() throws Exception {
+
+    final int before = CriticalService.instances.get();
+    final DaggerokContext applicationContext = DaggerokContext.create(CriticalService.class);
+    final Future<DaggerokContext> future = applicationContext.initializeAsync(executor);
+
+    final CriticalService criticalService = applicationContext.getBean(CriticalService.class);
+    assertThat(criticalService.logic()).isEqualTo("ASYNC");
+    assertThat(future.isDone()).isFalse();
+
+    SlowService.gate.countDown();
+    final DaggerokContext initialized = future.get(5, SECONDS);
+
+    assertThat(initialized).isSameAs(applicationContext);
+    assertThat(initialized.getBean(ReportService.class).logic()).isEqualTo("slow:ASYNC");
+    assertThat(initialized.getBean(CriticalService.class)).isSameAs(criticalService);
+    assertThat(CriticalService.instances.get() - before).isEqualTo(1);
+  }
+
+  @Test
+  public void get_bean_waits_for_its_own_dependencies_test() throws Exception {
+
+    final DaggerokContext applicationContext = DaggerokContext.create(CriticalService.class);
+    final Future<DaggerokContext> future = applicationContext.initializeAsync(executor);
+
+    executor.execute(new Runnable() {
+      public void run() {
+        SlowService.gate.countDown();
+      }
+    });
+
+    final ReportService reportService = applicationContext.getBean(ReportService.class);
+
+    assertThat(reportService.logic()).isEqualTo("slow:ASYNC");
+    assertThat(future.get(5, SECONDS).getBean(ReportService.class)).isSameAs(reportService);
+    assertThat(applicationContext.getBean(DaggerokContext.class)).isSameAs(applicationContext);
+  }
+}
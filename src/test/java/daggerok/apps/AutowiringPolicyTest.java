@@ -0,0 +1,71 @@
+package daggerok.apps;
+
+import daggerok.apps.app.MyService;
+import daggerok.apps.app.bad.Buggy1;
+import daggerok.apps.app.data.MyRepository;
+import daggerok.context.AutowiringPolicy;
+import daggerok.context.DaggerokContext;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AutowiringPolicyTest {
+
+  @Test
+  public void permissive_autowiring_test() {
+
+    final DaggerokContext applicationContext = DaggerokContext.create(MyService.class).initialize();
+
+    assertThat(applicationContext.getBean(MyService.class).logic()).isEqualTo("LOGIC:LOGIC");
+    assertThat(applicationContext.getBean(String.class)).isNotNull();
+    assertThat(applicationContext.getBean(Buggy1.class)).isNotNull();
+  }
+
+  @Test
+  public void strict_autowiring_test() {
+
+    final DaggerokContext applicationContext = DaggerokContext.create(MyService.class)
+                                                              .withAutowiring(AutowiringPolicy.STRICT)
+                                                              .initialize();
+
+    assertThat(applicationContext.getBean(MyRepository.class)).isNull();
+    assertThat(applicationContext.getBean(MyService.class)).isNull();
+    assertThat(applicationContext.getBean(String.class)).isNull();
+
+    final DaggerokContext registered = DaggerokContext.create(MyService.class)
+                                                      .withAutowiring(AutowiringPolicy.STRICT)
+                                                      .register(MyRepository.class, new MyRepository())
+                                                      .initialize();
+
+    assertThat(registered.getBean(MyService.class).logic()).isEqualTo("LOGIC:LOGIC");
+  }
+
+  @Test
+  public void allowed_packages_autowiring_test() throws Exception {
+
+    final DaggerokContext applicationContext = DaggerokContext.create(MyService.class)
+                                                              .withAutowiring(AutowiringPolicy.packages("daggerok"))
+                                                              .initialize();
+
+    assertThat(applicationContext.getBean(MyService.class).logic()).isEqualTo("LOGIC:LOGIC");
+    assertThat(applicationContext.getBean(String.class)).isNull();
+    assertThat(applicationContext.getBean(Buggy1.class)).isNull();
+
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      final DaggerokContext async = DaggerokContext.create(MyService.class)
+                                                   .withAutowiring(AutowiringPolicy.packages("daggerok.apps.app"))
+                                                   .initializeAsync(executor).get(10, SECONDS);
+
+      assertThat(async.getBean(MyService.class).logic()).isEqualTo("LOGIC:LOGIC");
+      assertThat(async.getBean(String.class)).isNull();
+    }
+    finally {
+      executor.shutdownNow();
+    }
+  }
+}
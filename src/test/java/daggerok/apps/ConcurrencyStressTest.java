@@ -0,0 +1,225 @@
+package daggerok.apps;
+
+import daggerok.apps.stress.*;
+import daggerok.context.DaggerokContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Many threads are doing randomly interleaved initialize, initializeAsync, register and getBean operations on the
+ * same context. Checks:
+ *
+ * - exactly-once construction: every bean is created once per context and never replaced
+ * - visibility: every found bean is fully wired
+ * - no lost registrations: every manually registered bean is found afterwards, manual registration always wins
+ */
+public class ConcurrencyStressTest {
+
+  private static final int THREADS = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+  private static final int ROUNDS = 30;
+  private static final int OPERATIONS = 300;
+  private static final Class[] TYPES = {
+      StressConfig.class, StressRepository.class, StressCache.class, StressService.class, StressFacade.class
+  };
+
+  private ExecutorService workers;
+  private ExecutorService executor;
+
+  @Before
+  public void setUp() {
+    workers = Executors.newFixedThreadPool(THREADS);
+    executor = Executors.newFixedThreadPool(2);
+  }
+
+  @After
+  public void tearDown() {
+    workers.shutdownNow();
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void concurrent_initialize_register_and_get_bean_test() throws Exception {
+
+    final int[] before = instances();
+    final long seed = System.nanoTime();
+    final long start = System.nanoTime();
+    long operations = 0;
+
+    for (int round = 0; round < ROUNDS; round++) {
+
+      final DaggerokContext applicationContext = DaggerokContext.create(StressConfig.class);
+      final ConcurrentHashMap<Class, Object> seen = new ConcurrentHashMap<Class, Object>();
+      final AtomicIntegerArray published = new AtomicIntegerArray(THREADS);
+      final CountDownLatch go = new CountDownLatch(1);
+      final Future[] results = new Future[THREADS];
+
+      for (int thread = 0; thread < THREADS; thread++) {
+        final Worker worker = new Worker(applicationContext, seen, published, go, thread, seed + round * 31 + thread);
+        results[thread] = workers.submit(worker);
+      }
+      go.countDown();
+      for (final Future result : results) {
+        operations += (Integer) result.get(30, SECONDS);
+      }
+
+      applicationContext.initialize();
+
+      for (final Class type : TYPES) {
+        final Object bean = applicationContext.getBean(type);
+        assertThat(bean).as("seed %s: %s", seed, type).isNotNull();
+        if (seen.containsKey(type)) assertThat(bean).as("seed %s: %s", seed, type).isSameAs(seen.get(type));
+      }
+      for (int thread = 0; thread < THREADS; thread++) {
+        for (int i = 0; i < published.get(thread); i++) {
+          final Plugin plugin = applicationContext.getBean(Plugin.name(thread, i), Plugin.class);
+          assertThat(plugin).as("seed %s: lost %s", seed, Plugin.name(thread, i)).isNotNull();
+          assertThat(plugin.id).isEqualTo(i);
+        }
+      }
+    }
+
+    final int[] after = instances();
+    for (int i = 0; i < TYPES.length; i++) {
+      assertThat(after[i] - before[i]).as("seed %s: %s instances", seed, TYPES[i]).isEqualTo(ROUNDS);
+    }
+
+    final long millis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    System.out.printf("%s: %d threads, %d operations in %d ms (%d ops/ms)%n",
+                      getClass().getSimpleName(), THREADS, operations, millis, operations / millis);
+  }
+
+  @Test
+  public void manual_registration_is_never_replaced_by_initialization_test() throws Exception {
+
+    final Random random = new Random();
+
+    for (int round = 0; round < ROUNDS; round++) {
+
+      final DaggerokContext applicationContext = DaggerokContext.create(StressConfig.class);
+      final StressConfig manual = new StressConfig();
+      final CountDownLatch go = new CountDownLatch(1);
+      final int delay = random.nextInt(1000);
+
+      final Future<?> initialization = workers.submit(new Callable<Object>() {
+        public Object call() throws Exception {
+          go.await();
+          return applicationContext.initialize();
+        }
+      });
+      final Future<?> registration = workers.submit(new Callable<Object>() {
+        public Object call() throws Exception {
+          go.await();
+          for (int i = 0; i < delay; i++) Thread.yield();
+          return applicationContext.register(StressConfig.class, manual);
+        }
+      });
+      go.countDown();
+      initialization.get(30, SECONDS);
+      registration.get(30, SECONDS);
+
+      assertThat(applicationContext.getBean(StressConfig.class)).isSameAs(manual);
+      assertThat(applicationContext.getBean(StressFacade.class)).isNotNull();
+    }
+  }
+
+  /* helpers */
+
+  private static int[] instances() {
+    return new int[] {
+        StressConfig.instances.get(), StressRepository.instances.get(), StressCache.instances.get(),
+        StressService.instances.get(), StressFacade.instances.get()
+    };
+  }
+
+  private static void verifyWired(final Object bean) {
+    if (bean instanceof StressFacade) assertThat(((StressFacade) bean).logic()).isEqualTo("stress:stress:stress");
+    if (bean instanceof StressService) assertThat(((StressService) bean).repository.config).isNotNull();
+    if (bean instanceof StressService) assertThat(((StressService) bean).cache.config).isNotNull();
+    if (bean instanceof StressRepository) assertThat(((StressRepository) bean).config.name).isEqualTo("stress");
+    if (bean instanceof StressCache) assertThat(((StressCache) bean).config.name).isEqualTo("stress");
+    if (bean instanceof StressConfig) assertThat(((StressConfig) bean).name).isEqualTo("stress");
+  }
+
+  private class Worker implements Callable<Integer> {
+
+    private final DaggerokContext applicationContext;
+    private final ConcurrentHashMap<Class, Object> seen;
+    private final AtomicIntegerArray published;
+    private final CountDownLatch go;
+    private final int thread;
+    private final long seed;
+
+    private Worker(final DaggerokContext applicationContext, final ConcurrentHashMap<Class, Object> seen,
+                   final AtomicIntegerArray published, final CountDownLatch go, final int thread, final long seed) {
+      this.applicationContext = applicationContext;
+      this.seen = seen;
+      this.published = published;
+      this.go = go;
+      this.thread = thread;
+      this.seed = seed;
+    }
+
+    public Integer call() throws Exception {
+      final Random random = new Random(seed);
+      go.await();
+
+      for (int operation = 0; operation < OPERATIONS; operation++) {
+        final int choice = random.nextInt(50);
+
+        if (0 == choice) applicationContext.initialize();
+
+        else if (1 == choice) applicationContext.initializeAsync(executor).get(30, SECONDS);
+
+        else if (choice < 14) { // register and read own write
+          final int id = published.get(thread);
+          final Plugin plugin = new Plugin(id);
+          applicationContext.register(Plugin.name(thread, id), plugin);
+          assertThat(applicationContext.getBean(Plugin.name(thread, id), Plugin.class)).as("seed %s", seed).isSameAs(plugin);
+          published.incrementAndGet(thread);
+        }
+
+        else if (choice < 26) { // read other thread registration
+          final int other = random.nextInt(THREADS);
+          final int count = published.get(other);
+          if (count < 1) continue;
+          final int id = random.nextInt(count);
+          final Plugin plugin = applicationContext.getBean(Plugin.name(other, id), Plugin.class);
+          assertThat(plugin).as("seed %s: lost %s", seed, Plugin.name(other, id)).isNotNull();
+          assertThat(plugin.id).isEqualTo(id);
+        }
+
+        else { // lookup scanned bean
+          final Class type = TYPES[random.nextInt(TYPES.length)];
+          final Object bean = 0 == choice % 2 ? applicationContext.getBean(type)
+                                              : applicationContext.getBean(type.getName());
+          if (null == bean) continue;
+          verifyWired(bean);
+          final Object previous = seen.putIfAbsent(type, bean);
+          if (null != previous) assertThat(bean).as("seed %s: %s replaced", seed, type).isSameAs(previous);
+        }
+      }
+      return OPERATIONS;
+    }
+  }
+
+  private static class Plugin {
+
+    private final int id;
+
+    private Plugin(final int id) {
+      this.id = id;
+    }
+
+    private static String name(final int thread, final int id) {
+      return "plugin-" + thread + "-" + id;
+    }
+  }
+}
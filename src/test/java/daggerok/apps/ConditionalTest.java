@@ -0,0 +1,90 @@
+package daggerok.apps;
+
+import daggerok.apps.conditional.*;
+import daggerok.context.DaggerokContext;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConditionalTest {
+
+  @Test
+  public void conditions_are_evaluated_before_creation_test() {
+    conditions_are_evaluated_before_creation(false);
+    conditions_are_evaluated_before_creation(true);
+    conditions_are_evaluated_before_creation(true); // replays cached plan
+  }
+
+  @Test
+  public void changed_conditions_are_not_replayed_test() {
+    try {
+      DaggerokContext.create(Storage.class).initialize();
+      System.setProperty(DiskStorage.PROPERTY, "true");
+
+      final DaggerokContext applicationContext = DaggerokContext.create(Storage.class).initialize();
+
+      assertThat(applicationContext.getBean(DiskStorage.class)).isNotNull();
+      assertThat(applicationContext.getBean(Replicator.class).storage)
+          .isSameAs(applicationContext.getBean(DiskStorage.class));
+      assertThat(applicationContext.getBean(MemoryStorage.class)).isNull();
+      assertThat(applicationContext.getBean(Cache.class)).isNull();
+    }
+    finally {
+      System.clearProperty(DiskStorage.PROPERTY);
+    }
+  }
+
+  @Test
+  public void property_value_condition_test() {
+    try {
+      System.setProperty(DiskStorage.PROPERTY, "false");
+      final DaggerokContext applicationContext = DaggerokContext.create(Storage.class).withScanCache(false)
+                                                                .initialize();
+
+      assertThat(applicationContext.getBean(DiskStorage.class)).isNull();
+      assertThat(applicationContext.getBean(MemoryStorage.class).kind()).isEqualTo("memory");
+    }
+    finally {
+      System.clearProperty(DiskStorage.PROPERTY);
+    }
+  }
+
+  @Test
+  public void conditional_beans_are_warmed_up_test() throws Exception {
+    try {
+      System.setProperty(DiskStorage.PROPERTY, "true");
+      final ExecutorService executor = Executors.newSingleThreadExecutor();
+      final DaggerokContext applicationContext = DaggerokContext.create(Storage.class);
+      final Future<DaggerokContext> future = applicationContext.initializeAsync(executor);
+
+      assertThat(applicationContext.getBean(Replicator.class).storage.kind()).isEqualTo("disk");
+      future.get(5, SECONDS);
+      executor.shutdown();
+
+      assertThat(applicationContext.getBean(MemoryStorage.class)).isNull();
+      assertThat(applicationContext.getBean(Metrics.class)).isNull();
+    }
+    finally {
+      System.clearProperty(DiskStorage.PROPERTY);
+    }
+  }
+
+  private static void conditions_are_evaluated_before_creation(final boolean scanCache) {
+
+    final int metrics = Metrics.instances.get();
+    final DaggerokContext applicationContext = DaggerokContext.create(Storage.class).withScanCache(scanCache)
+                                                              .initialize();
+
+    assertThat(applicationContext.getBean(DiskStorage.class)).isNull();
+    assertThat(applicationContext.getBean(Replicator.class)).isNull();
+    assertThat(applicationContext.getBean(Cache.class).storage)
+        .isSameAs(applicationContext.getBean(MemoryStorage.class));
+    assertThat(applicationContext.getBean(Metrics.class)).isNull();
+    assertThat(Metrics.instances.get()).isEqualTo(metrics);
+  }
+}
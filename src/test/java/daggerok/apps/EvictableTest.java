@@ -0,0 +1,74 @@
+package daggerok.apps;
+
+import daggerok.apps.evictable.BigIndex;
+import daggerok.apps.evictable.BigTable;
+import daggerok.apps.evictable.IdleCache;
+import daggerok.apps.evictable.Search;
+import daggerok.context.DaggerokContext;
+import daggerok.context.LookupMetricsMBean;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EvictableTest {
+
+  @Test
+  public void evicted_beans_are_rebuilt_on_next_access_test() {
+
+    final int indexes = BigIndex.instances.get();
+    final int tables = BigTable.instances.get();
+    final int destroyed = BigIndex.destroyed.get();
+
+    final DaggerokContext applicationContext = DaggerokContext.create(BigIndex.class)
+                                                              .withMetrics(true)
+                                                              .withMaxResidentEvictables(1)
+                                                              .initialize();
+    final Search search = applicationContext.getBean(Search.class);
+    final LookupMetricsMBean metrics = applicationContext.getMetrics();
+
+    try {
+      for (int i = 0; i < 3; i++) {
+        assertThat(search.index().size()).isEqualTo(1024);
+        assertThat(applicationContext.getBean(BigTable.class)).isNotNull();
+      }
+
+      assertThat(BigIndex.instances.get() - indexes).isGreaterThanOrEqualTo(3);
+      assertThat(BigTable.instances.get() - tables).isGreaterThanOrEqualTo(3);
+      assertThat(BigIndex.destroyed.get() - destroyed).isGreaterThanOrEqualTo(2);
+      assertThat(metrics.getEvictionCount()).isGreaterThanOrEqualTo(5);
+      assertThat(metrics.getRebuildCount()).isGreaterThanOrEqualTo(4);
+      assertThat(metrics.getCreationCounts().get("evictable")).isGreaterThanOrEqualTo(6);
+    }
+    finally {
+      applicationContext.close();
+    }
+  }
+
+  @Test
+  public void resident_beans_are_kept_until_limit_test() {
+
+    final DaggerokContext applicationContext = DaggerokContext.create(BigIndex.class).initialize();
+    final Search search = applicationContext.getBean(Search.class);
+
+    assertThat(search.index()).isSameAs(applicationContext.getBean(BigIndex.class));
+    assertThat(search.index()).isSameAs(search.index());
+
+    final int destroyed = BigIndex.destroyed.get();
+    applicationContext.close();
+    assertThat(BigIndex.destroyed.get() - destroyed).isEqualTo(1);
+  }
+
+  @Test
+  public void idle_beans_are_evicted_test() throws Exception {
+
+    final DaggerokContext applicationContext = DaggerokContext.create(IdleCache.class).initialize();
+    final IdleCache cache = applicationContext.getBean(IdleCache.class);
+    assertThat(applicationContext.getBean(IdleCache.class)).isSameAs(cache);
+
+    Thread.sleep(1200);
+
+    final int instances = IdleCache.instances.get();
+    assertThat(applicationContext.getBean(IdleCache.class)).isNotSameAs(cache);
+    assertThat(IdleCache.instances.get() - instances).isEqualTo(1);
+  }
+}
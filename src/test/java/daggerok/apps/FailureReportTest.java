@@ -0,0 +1,69 @@
+package daggerok.apps;
+
+import daggerok.apps.failing.Broken;
+import daggerok.apps.failing.BrokenClient;
+import daggerok.apps.failing.BrokenFacade;
+import daggerok.apps.failing.Flaky;
+import daggerok.apps.failing.FlakyClient;
+import daggerok.apps.failing.FlakyService;
+import daggerok.context.DaggerokContext;
+import daggerok.context.FailureReport;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FailureReportTest {
+
+  @Test
+  public void failing_constructors_are_invoked_once_test() {
+
+    final int broken = Broken.attempts.get();
+    final int flaky = Flaky.attempts.get();
+
+    final DaggerokContext applicationContext = DaggerokContext.create(Broken.class).withScanCache(false);
+    assertThat(applicationContext.getFailureReport()).isNull();
+    final FailureReport report = applicationContext.initialize().getFailureReport();
+
+    assertThat(Broken.attempts.get() - broken).isEqualTo(1);
+    assertThat(Flaky.attempts.get() - flaky).isEqualTo(1);
+    assertThat(applicationContext.getBean(BrokenFacade.class)).isNull();
+    assertThat(applicationContext.getBean(FlakyService.class)).isNull();
+    assertFailures(report);
+  }
+
+  @Test
+  public void asynchronous_initialization_failure_report_test() throws Exception {
+
+    final ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      final DaggerokContext applicationContext = DaggerokContext.create(Broken.class);
+      applicationContext.initializeAsync(executor).get(10, SECONDS);
+      assertFailures(applicationContext.getFailureReport());
+    }
+    finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static void assertFailures(final FailureReport report) {
+    final List<FailureReport.Failure> failures = report.getFailures();
+    assertThat(report.isEmpty()).isFalse();
+    assertThat(failures).hasSize(2);
+
+    assertThat(failures.get(0).getType()).isEqualTo(Broken.class.getName());
+    assertThat(failures.get(0).getCause()).isInstanceOf(IllegalStateException.class).hasMessage("broken");
+    assertThat(failures.get(0).getSkippedDependents()).containsExactly(BrokenClient.class.getName(),
+                                                                       BrokenFacade.class.getName());
+
+    assertThat(failures.get(1).getType()).isEqualTo(Flaky.class.getName());
+    assertThat(failures.get(1).getCause()).isInstanceOf(UnsupportedOperationException.class);
+    assertThat(failures.get(1).getSkippedDependents()).containsExactly(FlakyClient.class.getName(),
+                                                                       FlakyService.class.getName());
+    assertThat(report.toString()).contains(Broken.class.getName(), FlakyService.class.getName());
+  }
+}
@@ -0,0 +1,56 @@
+package daggerok.apps;
+
+import daggerok.apps.app.MyOtherService;
+import daggerok.apps.app.MyService;
+import daggerok.apps.app.data.MyRepository;
+import daggerok.context.DaggerokContext;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ForkContextTest {
+
+  @Test
+  public void fork_shares_beans_test() {
+
+    final DaggerokContext original = DaggerokContext.create(MyService.class).initialize();
+    final DaggerokContext fork = original.fork();
+
+    assertThat(fork.size()).isEqualTo(1);
+    assertThat(fork.getBean(DaggerokContext.class)).isSameAs(fork);
+    assertThat(fork.getBean(MyService.class)).isSameAs(original.getBean(MyService.class));
+    assertThat(fork.getBean(MyRepository.class)).isSameAs(original.getBean(MyRepository.class));
+  }
+
+  @Test
+  public void fork_overrides_are_isolated_test() {
+
+    final DaggerokContext original = DaggerokContext.create(MyService.class).initialize();
+    final MyService myService = original.getBean(MyService.class);
+    final MyRepository fake = new MyRepository() {
+      @Override
+      public String logic() {
+        return "fake";
+      }
+    };
+
+    final DaggerokContext fork = original.fork().register(MyRepository.class, fake);
+
+    assertThat(fork.getBean(MyRepository.class)).isSameAs(fake);
+    assertThat(fork.getBean(MyService.class)).isSameAs(myService);
+    assertThat(original.getBean(MyRepository.class)).isNotSameAs(fake);
+
+    fork.rebuildDependents();
+
+    assertThat(fork.getBean(MyService.class)).isNotSameAs(myService);
+    assertThat(fork.getBean(MyService.class).logic()).isEqualTo("FAKE:FAKE");
+    assertThat(fork.getBean(MyOtherService.class)).isNotSameAs(original.getBean(MyOtherService.class));
+    assertThat(fork.size()).isEqualTo(4);
+
+    assertThat(original.getBean(MyService.class)).isSameAs(myService);
+    assertThat(myService.logic()).isEqualTo("LOGIC:LOGIC");
+
+    fork.close();
+    assertThat(original.getBean(MyService.class)).isSameAs(myService);
+  }
+}
@@ -0,0 +1,97 @@
+package daggerok.apps;
+
+import daggerok.apps.generic.*;
+import daggerok.context.DaggerokContext;
+import daggerok.context.GenericType;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GenericInjectionTest {
+
+  private static final GenericType<Repository<User>> users = new GenericType<Repository<User>>() {};
+  private static final GenericType<Repository<Order>> orders = new GenericType<Repository<Order>>() {};
+
+  @Test
+  public void parametrized_types_are_different_bindings_test() {
+    parametrized_types_are_different_bindings(false);
+    parametrized_types_are_different_bindings(true);
+    parametrized_types_are_different_bindings(true); // replays cached plan
+  }
+
+  @Test
+  public void bean_registered_by_parametrized_type_wins_test() {
+
+    final Repository<User> custom = new Repository<User>() {
+      public String entity() {
+        return "custom";
+      }
+    };
+    final DaggerokContext applicationContext = DaggerokContext.create(Checkout.class)
+                                                              .register(users, custom)
+                                                              .withScanCache(false)
+                                                              .initialize();
+
+    assertThat(applicationContext.getBean(Checkout.class).users).isSameAs(custom);
+    assertThat(applicationContext.getBean(users)).isSameAs(custom);
+    assertThat(applicationContext.getBean(Checkout.class).orders.entity()).isEqualTo("orders");
+  }
+
+  @Test
+  public void unbound_parametrized_type_is_resolved_after_registration_test() {
+
+    final DaggerokContext applicationContext = DaggerokContext.create(Checkout.class);
+    assertThat(applicationContext.getBean(users)).isNull();
+    assertThat(applicationContext.getBean(users)).isNull(); // cached miss
+
+    final UserRepository userRepository = new UserRepository();
+    applicationContext.register(UserRepository.class.getName(), userRepository);
+    assertThat(applicationContext.getBean(users)).isSameAs(userRepository);
+
+    applicationContext.register("orders.a", new JdbcRepository<Order>("a") {})
+                      .register("orders.b", new JdbcRepository<Order>("b") {});
+    assertThat(applicationContext.getBean(orders)).isNull(); // ambiguous
+    assertThat(applicationContext.getBean(orders)).isNull();
+  }
+
+  @Test
+  public void parametrized_types_are_warmed_up_test() throws Exception {
+
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      final DaggerokContext applicationContext = DaggerokContext.create(Checkout.class);
+      applicationContext.initializeAsync(executor);
+
+      final Checkout checkout = applicationContext.getBean(Checkout.class);
+      assertThat(checkout.users.entity()).isEqualTo("users");
+      assertThat(checkout.orders.entity()).isEqualTo("orders");
+    }
+    finally {
+      executor.shutdown();
+      executor.awaitTermination(5, SECONDS);
+    }
+  }
+
+  @Test
+  public void generic_type_key_test() {
+    assertThat(users.toString()).isEqualTo("daggerok.apps.generic.Repository<daggerok.apps.generic.User>");
+    assertThat(users.getType().toString()).contains(Repository.class.getName());
+  }
+
+  private static void parametrized_types_are_different_bindings(final boolean scanCache) {
+
+    final DaggerokContext applicationContext = DaggerokContext.create(Checkout.class).withScanCache(scanCache)
+                                                              .initialize();
+    final Checkout checkout = applicationContext.getBean(Checkout.class);
+
+    assertThat(checkout.users).isSameAs(applicationContext.getBean(UserRepository.class));
+    assertThat(checkout.orders).isSameAs(applicationContext.getBean(OrderRepository.class));
+    assertThat(checkout.ordersProvider.get()).isSameAs(checkout.orders);
+    assertThat(applicationContext.getBean(users).entity()).isEqualTo("users");
+    assertThat(applicationContext.getBean(orders).entity()).isEqualTo("orders");
+  }
+}
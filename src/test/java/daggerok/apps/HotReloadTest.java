@@ -0,0 +1,92 @@
+package daggerok.apps;
+
+import daggerok.apps.reload.Clock;
+import daggerok.apps.reload.Greeter;
+import daggerok.apps.reload.Messages;
+import daggerok.apps.reload.Welcome;
+import daggerok.context.DaggerokContext;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HotReloadTest {
+
+  @Test
+  public void changed_bean_and_it_dependents_are_reloaded_test() throws Exception {
+
+    final DaggerokContext applicationContext = DaggerokContext.create(Messages.class)
+                                                              .withHotReload(20, TimeUnit.MILLISECONDS)
+                                                              .initialize();
+    try {
+      final Greeter messages = applicationContext.getBean(Messages.class.getName());
+      final Greeter welcome = applicationContext.getBean(Welcome.class.getName());
+      final Clock clock = applicationContext.getBean(Clock.class);
+
+      touch(Messages.class);
+      await(applicationContext, Messages.class, messages);
+
+      final Greeter reloaded = applicationContext.getBean(Messages.class.getName());
+
+      assertThat(reloaded).isNotSameAs(messages);
+      assertThat(reloaded.getClass()).isNotSameAs(Messages.class);
+      assertThat(reloaded.getClass().getName()).isEqualTo(Messages.class.getName());
+      assertThat(reloaded.greet()).isEqualTo("hello");
+
+      final Greeter rebuilt = applicationContext.getBean(Welcome.class.getName());
+      assertThat(rebuilt).isNotSameAs(welcome);
+      assertThat(rebuilt.getClass().getClassLoader()).isSameAs(reloaded.getClass().getClassLoader());
+      assertThat(rebuilt.greet()).isEqualTo("hello, world");
+
+      assertThat(applicationContext.getBean(Clock.class)).isSameAs(clock);
+    }
+    finally {
+      applicationContext.close();
+    }
+  }
+
+  @Test
+  public void bean_is_reloaded_again_against_previously_reloaded_dependencies_test() throws Exception {
+
+    final DaggerokContext applicationContext = DaggerokContext.create(Messages.class)
+                                                              .withHotReload(20, TimeUnit.MILLISECONDS)
+                                                              .initialize();
+    try {
+      touch(Messages.class);
+      await(applicationContext, Messages.class, applicationContext.getBean(Messages.class.getName()));
+      final Greeter messages = applicationContext.getBean(Messages.class.getName());
+      final Greeter welcome = applicationContext.getBean(Welcome.class.getName());
+      assertThat(welcome.getClass().getClassLoader()).isSameAs(messages.getClass().getClassLoader());
+
+      touch(Welcome.class);
+      await(applicationContext, Welcome.class, welcome);
+
+      final Greeter rebuilt = applicationContext.getBean(Welcome.class.getName());
+      assertThat(rebuilt).isNotSameAs(welcome);
+      assertThat(rebuilt.getClass()).isNotSameAs(welcome.getClass());
+      assertThat(rebuilt.greet()).isEqualTo("hello, world");
+      assertThat(applicationContext.getBean(Messages.class.getName())).isSameAs(messages);
+    }
+    finally {
+      applicationContext.close();
+    }
+  }
+
+  /* helpers */
+
+  private static void touch(final Class<?> type) throws Exception {
+    final File classFile = new File(type.getResource(type.getSimpleName() + ".class").toURI());
+    assertThat(classFile.setLastModified(classFile.lastModified() + 2000)).isTrue();
+  }
+
+  private static void await(final DaggerokContext applicationContext, final Class<?> type, final Object previous)
+      throws Exception {
+
+    for (int i = 0; i < 250 && previous == applicationContext.getBean(type.getName()); i++) {
+      Thread.sleep(20);
+    }
+    applicationContext.initialize(); // waits for reload in progress
+  }
+}
@@ -0,0 +1,61 @@
+package daggerok.apps;
+
+import daggerok.apps.extension.Extension;
+import daggerok.apps.host.Host;
+import daggerok.apps.host.HostApi;
+import daggerok.apps.host.HostService;
+import daggerok.context.DaggerokContext;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IncrementalInitializationTest {
+
+  private static final HostApi api = new HostApi() {
+    public String name() {
+      return "api";
+    }
+  };
+
+  @Test
+  public void pending_beans_are_created_once_dependencies_registered_test() {
+    pending_beans_are_created_once_dependencies_registered(false);
+    pending_beans_are_created_once_dependencies_registered(true);
+    pending_beans_are_created_once_dependencies_registered(true); // replays cached plan
+  }
+
+  @Test
+  public void only_new_packages_are_scanned_test() {
+
+    final DaggerokContext applicationContext = DaggerokContext.create(Host.class).withScanCache(false).initialize();
+    final Host host = applicationContext.getBean(Host.class);
+    final int instances = Host.instances.get();
+
+    applicationContext.withBasePackageClasses(Extension.class).initialize();
+    final String trace = applicationContext.getStartupReport().toChromeTrace();
+
+    assertThat(trace).contains(Extension.class.getPackage().getName() + " @")
+                     .doesNotContain(Host.class.getPackage().getName() + " @");
+    assertThat(applicationContext.getBean(Extension.class).host).isSameAs(host);
+    assertThat(Host.instances.get()).isEqualTo(instances);
+
+    applicationContext.register(HostApi.class, api).initialize();
+    assertThat(applicationContext.getStartupReport().toChromeTrace()).doesNotContain(" @");
+    assertThat(applicationContext.getBean(HostService.class).host).isSameAs(host);
+  }
+
+  private static void pending_beans_are_created_once_dependencies_registered(final boolean scanCache) {
+
+    final DaggerokContext applicationContext = DaggerokContext.create(Host.class)
+                                                              .withScanCache(scanCache)
+                                                              .initialize();
+    final Host host = applicationContext.getBean(Host.class);
+    assertThat(applicationContext.getBean(HostService.class)).isNull();
+
+    applicationContext.register(HostApi.class, api).initialize();
+
+    final HostService service = applicationContext.getBean(HostService.class);
+    assertThat(service.host).isSameAs(host);
+    assertThat(service.api).isSameAs(api);
+  }
+}
@@ -0,0 +1,84 @@
+package daggerok.apps;
+
+import daggerok.apps.lazy.Audit;
+import daggerok.apps.lazy.AuditLog;
+import daggerok.apps.lazy.Dashboard;
+import daggerok.apps.lazy.HeavyReports;
+import daggerok.context.DaggerokContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LazyTest {
+
+  private ExecutorService executor;
+
+  @Before
+  public void setUp() {
+    executor = Executors.newFixedThreadPool(4);
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void lazy_dependencies_break_cycles_test() {
+
+    final DaggerokContext applicationContext = DaggerokContext.create(Dashboard.class).initialize();
+
+    final Dashboard dashboard = applicationContext.getBean(Dashboard.class);
+    final AuditLog auditLog = applicationContext.getBean(AuditLog.class);
+
+    assertThat(dashboard).isNotNull();
+    assertThat(auditLog).isNotNull();
+    assertThat(auditLog.getDashboard()).isSameAs(dashboard);
+    assertThat(Proxy.isProxyClass(dashboard.getAudit().getClass())).isTrue();
+    assertThat(dashboard.show()).isEqualTo("report on Dashboard");
+  }
+
+  @Test
+  public void lazy_proxy_resolves_bean_once_test() throws Exception {
+
+    final DaggerokContext applicationContext = DaggerokContext.create(Dashboard.class).initialize();
+    final Audit audit = applicationContext.getBean(Dashboard.class).getAudit();
+
+    final List<Future<String>> results = new ArrayList<Future<String>>();
+    for (int i = 0; i < 100; i++) {
+      results.add(executor.submit(new Callable<String>() {
+        public String call() {
+          return audit.audit("call");
+        }
+      }));
+    }
+    for (final Future<String> result : results) {
+      assertThat(result.get(5, SECONDS)).isEqualTo("call on Dashboard");
+    }
+  }
+
+  @Test
+  public void lazy_dependency_is_not_waited_for_by_asynchronous_initialization_test() throws Exception {
+
+    final int before = HeavyReports.instances.get();
+    final DaggerokContext applicationContext = DaggerokContext.create(Dashboard.class);
+    final Future<DaggerokContext> future = applicationContext.initializeAsync(executor);
+
+    final Dashboard dashboard = applicationContext.getBean(Dashboard.class);
+    assertThat(dashboard.show()).isEqualTo("report on Dashboard");
+
+    future.get(5, SECONDS);
+    assertThat(HeavyReports.instances.get() - before).isEqualTo(1);
+  }
+}
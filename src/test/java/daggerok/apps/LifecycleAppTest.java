@@ -0,0 +1,50 @@
+package daggerok.apps;
+
+import daggerok.apps.lifecycle.Journal;
+import daggerok.apps.lifecycle.Service;
+import daggerok.apps.overriding.FileResource;
+import daggerok.context.DaggerokContext;
+import org.junit.Test;
+
+import java.util.List;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LifecycleAppTest {
+
+  @Test
+  public void post_construct_and_ordered_pre_destroy_test() {
+
+    final DaggerokContext applicationContext = DaggerokContext.create(Journal.class)
+                                                              .withShutdownTimeout(200, MILLISECONDS)
+                                                              .initialize();
+    assertThat(applicationContext.getBean(Service.class)).isNotNull();
+
+    final List<String> events = applicationContext.getBean(Journal.class).events();
+    assertThat(events).containsExactly("pool:start");
+
+    final long start = System.currentTimeMillis();
+    applicationContext.close();
+
+    assertThat(System.currentTimeMillis() - start).isLessThan(5000);
+    assertThat(events).containsExactly("pool:start", "service:stop", "pool:stop", "journal:stop");
+    assertThat(applicationContext.getBean(Service.class)).isNull();
+
+    applicationContext.close();
+    assertThat(events).hasSize(4);
+  }
+
+  @Test
+  public void overridden_callbacks_are_not_invoked_test() {
+
+    for (int i = 0; i < 2; i++) { // second context uses resolved callbacks
+      final DaggerokContext applicationContext = DaggerokContext.create(FileResource.class).initialize();
+      final List<String> events = applicationContext.getBean(FileResource.class).events;
+      assertThat(events).containsExactly("resource:init", "file:open");
+
+      applicationContext.close();
+      assertThat(events).containsExactly("resource:init", "file:open");
+    }
+  }
+}
@@ -0,0 +1,67 @@
+package daggerok.apps;
+
+import daggerok.apps.app.MyService;
+import daggerok.apps.lifecycle.Pool;
+import daggerok.context.DaggerokContext;
+import daggerok.context.NativeConfigGenerator;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.*;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class NativeConfigGeneratorTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void reflect_config_and_class_list_cover_scanned_beans_test() throws Exception {
+
+    final DaggerokContext scanned = DaggerokContext.create(MyService.class, Pool.class).initialize();
+    final Set<String> beans = scanned.getStartupReport().getSelfNanos().keySet();
+
+    final DaggerokContext recorded = DaggerokContext.create(MyService.class, Pool.class);
+    final File[] files = NativeConfigGenerator.generate(recorded, temporaryFolder.getRoot());
+    assertThat(recorded.size()).isZero(); // closed after recording
+    final String reflectConfig = read(files[0]);
+    final String classList = read(files[1]);
+
+    final Set<String> configured = new HashSet<String>();
+    final Matcher matcher = Pattern.compile("\n  \\{\n    \"name\": \"([^\"]+)\"").matcher(reflectConfig);
+    while (matcher.find()) configured.add(matcher.group(1));
+
+    assertThat(configured).isEqualTo(beans);
+    for (final String bean : beans) {
+      assertThat(classList).contains(bean.replace('.', '/') + "\n");
+    }
+
+    assertThat(reflectConfig).contains("{ \"name\": \"<init>\", \"parameterTypes\": "
+                                           + "[\"daggerok.apps.app.data.MyRepository\", \"daggerok.apps.app.MyOtherService\"] }")
+                             .contains("{ \"name\": \"start\", \"parameterTypes\": [] }")
+                             .contains("{ \"name\": \"stop\", \"parameterTypes\": [] }");
+  }
+
+  /* helpers */
+
+  private static String read(final File file) throws IOException {
+    final StringBuilder result = new StringBuilder();
+    final Reader reader = new InputStreamReader(new FileInputStream(file), "UTF-8");
+    try {
+      final char[] buffer = new char[4096];
+      for (int read = reader.read(buffer); read > 0; read = reader.read(buffer)) {
+        result.append(buffer, 0, read);
+      }
+    }
+    finally {
+      reader.close();
+    }
+    return result.toString();
+  }
+}
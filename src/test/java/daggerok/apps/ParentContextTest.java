@@ -0,0 +1,56 @@
+package daggerok.apps;
+
+import daggerok.apps.app.MyOtherService;
+import daggerok.apps.app.MyService;
+import daggerok.apps.app.data.MyRepository;
+import daggerok.context.DaggerokContext;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ParentContextTest {
+
+  @Test
+  public void child_reuses_parent_beans_test() {
+
+    final MyRepository repository = new MyRepository();
+    final DaggerokContext parent = DaggerokContext.create().register(MyRepository.class, repository).initialize();
+
+    final DaggerokContext first = DaggerokContext.create(MyService.class).withParent(parent).initialize();
+    final DaggerokContext second = DaggerokContext.create(MyService.class).withParent(parent).initialize();
+
+    assertThat(first.getBean(MyRepository.class)).isSameAs(repository);
+    assertThat(second.getBean(MyRepository.class)).isSameAs(repository);
+    assertThat(first.getBean(MyService.class).logic()).isEqualTo("LOGIC:LOGIC");
+    assertThat(first.getBean(MyService.class)).isNotSameAs(second.getBean(MyService.class));
+    assertThat(first.getBean(MyOtherService.class)).isNotSameAs(second.getBean(MyOtherService.class));
+    assertThat(first.getBean(DaggerokContext.class)).isSameAs(first);
+    assertThat(parent.getBean(MyService.class)).isNull();
+
+    final DaggerokContext standalone = DaggerokContext.create(MyService.class).initialize();
+    assertThat(first.size()).isEqualTo(standalone.size() - 1);
+    assertThat(DaggerokContext.create(MyService.class).initialize().size()).isEqualTo(standalone.size());
+  }
+
+  @Test
+  public void child_close_keeps_parent_beans_test() {
+
+    final DaggerokContext parent = DaggerokContext.create().register(MyRepository.class, new MyRepository())
+                                                  .initialize();
+    final DaggerokContext child = DaggerokContext.create(MyService.class).withParent(parent).initialize();
+
+    child.close();
+
+    assertThat(child.getBean(MyService.class)).isNull();
+    assertThat(parent.getBean(MyRepository.class)).isNotNull();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void parent_cycle_test() {
+
+    final DaggerokContext parent = DaggerokContext.create();
+    final DaggerokContext child = DaggerokContext.create(MyService.class).withParent(parent);
+
+    parent.withParent(child);
+  }
+}
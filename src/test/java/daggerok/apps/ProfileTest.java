@@ -0,0 +1,51 @@
+package daggerok.apps;
+
+import daggerok.apps.profiles.InMemoryRepository;
+import daggerok.apps.profiles.JdbcRepository;
+import daggerok.apps.profiles.Reports;
+import daggerok.apps.profiles.Repository;
+import daggerok.context.DaggerokContext;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProfileTest {
+
+  @Test
+  public void inactive_profile_beans_are_not_created_test() {
+
+    final int instances = JdbcRepository.instances.get();
+    final DaggerokContext applicationContext = DaggerokContext.create(Repository.class).initialize();
+
+    assertThat(applicationContext.getBean(InMemoryRepository.class).name()).isEqualTo("in-memory");
+    assertThat(applicationContext.getBean(JdbcRepository.class)).isNull();
+    assertThat(applicationContext.getBean(Reports.class)).isNull();
+    assertThat(JdbcRepository.instances.get()).isEqualTo(instances);
+  }
+
+  @Test
+  public void active_profile_beans_are_created_test() {
+
+    DaggerokContext.create(Repository.class).initialize();
+    final DaggerokContext applicationContext = DaggerokContext.create(Repository.class)
+                                                              .withProfiles("prod")
+                                                              .initialize();
+
+    assertThat(applicationContext.getBean(Reports.class).repository)
+        .isSameAs(applicationContext.getBean(JdbcRepository.class));
+    assertThat(applicationContext.getBean(InMemoryRepository.class)).isNull();
+  }
+
+  @Test
+  public void any_of_bean_profiles_test() {
+
+    final DaggerokContext applicationContext = DaggerokContext.create(Repository.class)
+                                                              .withProfiles("staging")
+                                                              .withScanCache(false)
+                                                              .initialize();
+
+    assertThat(applicationContext.getBean(JdbcRepository.class).name()).isEqualTo("jdbc");
+    assertThat(applicationContext.getBean(InMemoryRepository.class).name()).isEqualTo("in-memory");
+    assertThat(applicationContext.getBean(Reports.class)).isNotNull();
+  }
+}
@@ -0,0 +1,53 @@
+package daggerok.apps;
+
+import daggerok.apps.app.MyService;
+import daggerok.apps.app.data.MyRepository;
+import daggerok.context.DaggerokContext;
+import daggerok.context.StartupReport;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ScanCacheTest {
+
+  @Test
+  public void next_contexts_are_not_scanning_test() {
+
+    final DaggerokContext first = DaggerokContext.create(MyService.class).initialize();
+
+    final DaggerokContext next = DaggerokContext.create(MyService.class).initialize();
+    final StartupReport report = next.getStartupReport();
+
+    assertThat(report.getPhaseNanos().get(StartupReport.SCAN)).isZero();
+    assertThat(report.getPhaseNanos().get(StartupReport.RESOLUTION)).isZero();
+    assertThat(next.size()).isEqualTo(first.size());
+    assertThat(next.getBean(MyService.class).logic()).isEqualTo(first.getBean(MyService.class).logic());
+    assertThat(next.getBean(MyService.class)).isNotSameAs(first.getBean(MyService.class));
+    assertThat(next.getBean(MyRepository.class)).isNotSameAs(first.getBean(MyRepository.class));
+  }
+
+  @Test
+  public void manually_registered_beans_are_kept_test() {
+
+    DaggerokContext.create(MyService.class).initialize();
+
+    final MyRepository repository = new MyRepository();
+    final DaggerokContext next = DaggerokContext.create(MyService.class)
+                                                .register(MyRepository.class, repository)
+                                                .initialize();
+
+    assertThat(next.getBean(MyRepository.class)).isSameAs(repository);
+    assertThat(next.getBean(MyService.class)).isNotNull();
+  }
+
+  @Test
+  public void disabled_scan_cache_test() {
+
+    DaggerokContext.create(MyService.class).initialize();
+
+    final DaggerokContext scanning = DaggerokContext.create(MyService.class).withScanCache(false).initialize();
+
+    assertThat(scanning.getStartupReport().getPhaseNanos().get(StartupReport.SCAN)).isPositive();
+    assertThat(scanning.getBean(MyService.class)).isNotNull();
+  }
+}
@@ -0,0 +1,55 @@
+package daggerok.apps;
+
+import daggerok.apps.app.MyOtherService;
+import daggerok.apps.app.MyService;
+import daggerok.apps.app.data.MyRepository;
+import daggerok.context.DaggerokContext;
+import daggerok.context.StartupReport;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StartupReportTest {
+
+  @Test
+  public void startup_report_test() {
+
+    final DaggerokContext applicationContext = DaggerokContext.create(MyService.class);
+    assertThat(applicationContext.getStartupReport()).isNull();
+
+    final StartupReport report = applicationContext.initialize().getStartupReport();
+
+    assertThat(report.getPhaseNanos()).containsKeys(StartupReport.SCAN, StartupReport.RESOLUTION,
+                                                   StartupReport.CONSTRUCTION, StartupReport.INITIALIZATION);
+    assertThat(report.getPhaseNanos().get(StartupReport.INITIALIZATION))
+        .isGreaterThanOrEqualTo(report.getPhaseNanos().get(StartupReport.SCAN)
+                                    + report.getPhaseNanos().get(StartupReport.RESOLUTION)
+                                    + report.getPhaseNanos().get(StartupReport.CONSTRUCTION));
+    assertThat(report.getPhaseNanos().get(StartupReport.CONSTRUCTION)).isPositive();
+    assertThat(report.getSelfNanos()).containsKeys(MyService.class.getName(),
+                                                  MyOtherService.class.getName(),
+                                                  MyRepository.class.getName());
+    assertThat(report.getInclusiveNanos().get(MyService.class.getName()))
+        .isEqualTo(report.getSelfNanos().get(MyService.class.getName())
+                       + report.getSelfNanos().get(MyOtherService.class.getName())
+                       + report.getSelfNanos().get(MyRepository.class.getName()));
+
+    long criticalPathNanos = 0;
+    for (final String bean : report.getCriticalPath()) {
+      criticalPathNanos += report.getSelfNanos().get(bean);
+    }
+    assertThat(report.getCriticalPathNanos()).isEqualTo(criticalPathNanos)
+                                             .isGreaterThanOrEqualTo(report.getSelfNanos().get(MyService.class.getName())
+                                                 + report.getSelfNanos().get(MyOtherService.class.getName())
+                                                 + report.getSelfNanos().get(MyRepository.class.getName()));
+    assertThat(report.getReflectiveCalls()).isGreaterThanOrEqualTo(3);
+    assertThat(report.getFailedConstructions()).isZero();
+
+    assertThat(report.toChromeTrace()).startsWith("{\"traceEvents\":[")
+                                      .contains("\"name\":\"" + MyService.class.getName() + "\"")
+                                      .contains("\"cat\":\"construction\"")
+                                      .contains("\"ph\":\"M\"")
+                                      .endsWith("}");
+    assertThat(report.toString()).contains(MyService.class.getName());
+  }
+}
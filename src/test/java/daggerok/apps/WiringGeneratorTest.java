@@ -0,0 +1,122 @@
+package daggerok.apps;
+
+import daggerok.apps.app.MyService;
+import daggerok.apps.app.bad.Buggy5;
+import daggerok.apps.generic.Checkout;
+import daggerok.apps.lifecycle.Pool;
+import daggerok.apps.provided.Scheduler;
+import daggerok.apps.provided.SystemTimer;
+import daggerok.context.DaggerokContext;
+import daggerok.context.WiringGenerator;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeNotNull;
+
+public class WiringGeneratorTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void generated_wiring_creates_same_beans_without_reflection_test() throws Exception {
+
+    final DaggerokContext scanned = DaggerokContext.create(MyService.class).initialize();
+    final DaggerokContext recorded = DaggerokContext.create(MyService.class);
+    final String source = WiringGenerator.generate(recorded, "my.gen.AppWiring");
+    assertThat(recorded.size()).isZero(); // closed after recording
+
+    assertThat(source).contains("package my.gen;")
+                      .contains("public class AppWiring {")
+                      .contains("myService = new daggerok.apps.app.MyService(myRepository, myOtherService);")
+                      .contains("public daggerok.apps.app.MyService getMyService() {")
+                      .contains(Buggy5.class.getName() + ": unresolved dependencies")
+                      .doesNotContain("getClass()")
+                      .doesNotContain("reflect");
+    assertThat(source.indexOf("myOtherService = new")).isLessThan(source.indexOf("myService = new"));
+    assertThat(source.split("context\\.register\\(\"").length - 1).isEqualTo(scanned.size() - 1);
+
+    final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    assumeNotNull(compiler);
+
+    final File sources = temporaryFolder.newFolder("sources");
+    final File classes = temporaryFolder.newFolder("classes");
+    final File file = WiringGenerator.generate(DaggerokContext.create(MyService.class), "my.gen.AppWiring", sources);
+    assertThat(compiler.run(null, null, null, "-cp", System.getProperty("java.class.path"),
+                            "-d", classes.getPath(), file.getPath())).isZero();
+
+    final URLClassLoader classLoader = new URLClassLoader(new URL[] { classes.toURI().toURL() },
+                                                          getClass().getClassLoader());
+    final Object wiring = classLoader.loadClass("my.gen.AppWiring").newInstance();
+    final MyService myService = (MyService) wiring.getClass().getMethod("getMyService").invoke(wiring);
+    final DaggerokContext generated = (DaggerokContext) wiring.getClass().getMethod("getContext").invoke(wiring);
+
+    assertThat(myService.logic()).isEqualTo(scanned.getBean(MyService.class).logic());
+    assertThat(generated.getBean(MyService.class)).isSameAs(myService);
+    assertThat(generated.getBean(DaggerokContext.class)).isSameAs(generated);
+    assertThat(generated.size()).isEqualTo(scanned.size());
+    for (final String name : scanned.getStartupReport().getSelfNanos().keySet()) {
+      final Object bean = generated.getBean(name);
+      assertThat(bean).as(name).isNotNull();
+    }
+  }
+
+  @Test
+  public void provider_of_interface_is_generated_as_typed_lookup_test() throws Exception {
+
+    final String source = WiringGenerator.generate(DaggerokContext.create(Scheduler.class), "my.gen.TimerWiring");
+    assertThat(source).contains("new javax.inject.Provider<daggerok.apps.provided.Timer>()")
+                      .contains("getBean(\"" + SystemTimer.class.getName() + "\")");
+
+    final Object wiring = compileAndCreate("my.gen.TimerWiring", DaggerokContext.create(Scheduler.class));
+    final Scheduler scheduler = (Scheduler) wiring.getClass().getMethod("getScheduler").invoke(wiring);
+
+    assertThat(scheduler.timer.get()).isSameAs(wiring.getClass().getMethod("getSystemTimer").invoke(wiring));
+  }
+
+  @Test
+  public void provider_of_parametrized_type_is_generated_as_typed_lookup_test() throws Exception {
+
+    final Object wiring = compileAndCreate("my.gen.CheckoutWiring", DaggerokContext.create(Checkout.class));
+    final Checkout checkout = (Checkout) wiring.getClass().getMethod("getCheckout").invoke(wiring);
+
+    assertThat(checkout.users).isSameAs(wiring.getClass().getMethod("getUserRepository").invoke(wiring));
+    assertThat(checkout.orders).isSameAs(wiring.getClass().getMethod("getOrderRepository").invoke(wiring));
+    assertThat(checkout.ordersProvider.get()).isSameAs(checkout.orders);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void not_public_post_construct_cannot_be_generated_test() {
+    WiringGenerator.generate(DaggerokContext.create(Pool.class), "my.gen.LifecycleWiring");
+  }
+
+  /**
+   * Compiles generated wiring without unchecked warnings and creates it, skipped if there is no system compiler.
+   */
+  private Object compileAndCreate(final String className, final DaggerokContext context) throws Exception {
+
+    final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    assumeNotNull(compiler);
+
+    final File sources = temporaryFolder.newFolder();
+    final File classes = temporaryFolder.newFolder();
+    final File file = WiringGenerator.generate(context, className, sources);
+    final ByteArrayOutputStream errors = new ByteArrayOutputStream();
+    assertThat(compiler.run(null, null, errors, "-Xlint:unchecked", "-cp", System.getProperty("java.class.path"),
+                            "-d", classes.getPath(), file.getPath())).isZero();
+    assertThat(errors.toString("UTF-8")).doesNotContain("unchecked");
+
+    final URLClassLoader classLoader = new URLClassLoader(new URL[] { classes.toURI().toURL() },
+                                                          getClass().getClassLoader());
+    return classLoader.loadClass(className).newInstance();
+  }
+}
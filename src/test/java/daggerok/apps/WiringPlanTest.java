@@ -0,0 +1,103 @@
+package daggerok.apps;
+
+import daggerok.apps.app.MyOtherService;
+import daggerok.apps.app.MyService;
+import daggerok.apps.app.bad.Buggy5;
+import daggerok.apps.app.data.MyRepository;
+import daggerok.context.DaggerokContext;
+import daggerok.context.StartupReport;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WiringPlanTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void recorded_plan_is_replayed_without_scanning_test() throws Exception {
+
+    final File plan = new File(temporaryFolder.getRoot(), "wiring.plan");
+
+    final DaggerokContext recording = initialize(plan);
+    assertThat(recording.getStartupReport().getPhaseNanos().get(StartupReport.SCAN)).isPositive();
+
+    final String content = read(plan);
+    assertThat(content).startsWith("fingerprint ")
+                       .contains("\nbean " + MyRepository.class.getName() + "\n")
+                       .contains("\nbean " + MyService.class.getName() + " " + MyRepository.class.getName()
+                                     + " " + MyOtherService.class.getName() + "\n")
+                       .contains("\nskipped " + Buggy5.class.getName() + " java.util.Arrays\n");
+    assertThat(content.indexOf("bean " + MyOtherService.class.getName()))
+        .isLessThan(content.indexOf("bean " + MyService.class.getName()));
+
+    final DaggerokContext replaying = initialize(plan);
+    final StartupReport report = replaying.getStartupReport();
+
+    assertThat(report.getPhaseNanos().get(StartupReport.SCAN)).isZero();
+    assertThat(report.getPhaseNanos().get(StartupReport.RESOLUTION)).isZero();
+    assertThat(replaying.size()).isEqualTo(recording.size());
+    assertThat(replaying.getBean(MyService.class).logic()).isEqualTo(recording.getBean(MyService.class).logic());
+    assertThat(replaying.getBean(MyService.class)).isNotSameAs(recording.getBean(MyService.class));
+  }
+
+  @Test
+  public void not_matching_plan_falls_back_to_regular_initialization_test() throws Exception {
+
+    final File plan = new File(temporaryFolder.getRoot(), "wiring.plan");
+    initialize(plan);
+    final String recorded = read(plan);
+
+    write(plan, recorded.replaceFirst("fingerprint \\w+", "fingerprint 0"));
+    final DaggerokContext changed = initialize(plan);
+    assertThat(changed.getStartupReport().getPhaseNanos().get(StartupReport.SCAN)).isPositive();
+    assertThat(changed.getBean(MyService.class)).isNotNull();
+    assertThat(read(plan)).isEqualTo(recorded);
+
+    write(plan, recorded.replaceFirst("\nbean ", "\nbean my.removed.Bean\nbean "));
+    final DaggerokContext stale = initialize(plan);
+    assertThat(stale.getStartupReport().getPhaseNanos().get(StartupReport.SCAN)).isPositive();
+    assertThat(stale.getBean(MyService.class)).isNotNull();
+    assertThat(stale.size()).isEqualTo(changed.size());
+    assertThat(read(plan)).doesNotContain("my.removed.Bean");
+  }
+
+  /* helpers */
+
+  private static DaggerokContext initialize(final File plan) {
+    return DaggerokContext.create(MyService.class)
+                          .withScanCache(false) // every initialization without plan must scan
+                          .withWiringPlan(plan)
+                          .initialize();
+  }
+
+  private static String read(final File file) throws IOException {
+    final StringBuilder result = new StringBuilder();
+    final Reader reader = new InputStreamReader(new FileInputStream(file), "UTF-8");
+    try {
+      final char[] buffer = new char[4096];
+      for (int read = reader.read(buffer); read > 0; read = reader.read(buffer)) {
+        result.append(buffer, 0, read);
+      }
+    }
+    finally {
+      reader.close();
+    }
+    return result.toString();
+  }
+
+  private static void write(final File file, final String content) throws IOException {
+    final Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+    try {
+      writer.write(content);
+    }
+    finally {
+      writer.close();
+    }
+  }
+}
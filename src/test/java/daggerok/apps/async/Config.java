@@ -0,0 +1,10 @@
+package daggerok.apps.async;
+
+import javax.inject.Singleton;
+
+@Singleton
+public class Config {
+  public String name() {
+    return "async";
+  }
+}
@@ -0,0 +1,24 @@
+package daggerok.apps.async;
+
+import daggerok.context.Critical;
+
+import javax.inject.Inject;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Critical
+public class CriticalService {
+
+  public static final AtomicInteger instances = new AtomicInteger();
+
+  private final Config config;
+
+  @Inject
+  public CriticalService(final Config config) {
+    this.config = config;
+    instances.incrementAndGet();
+  }
+
+  public String logic() {
+    return config.name().toUpperCase();
+  }
+}
@@ -0,0 +1,19 @@
+package daggerok.apps.async;
+
+import javax.inject.Inject;
+
+public class ReportService {
+
+  private final SlowService slowService;
+  private final CriticalService criticalService;
+
+  @Inject
+  public ReportService(final SlowService slowService, final CriticalService criticalService) {
+    this.slowService = slowService;
+    this.criticalService = criticalService;
+  }
+
+  public String logic() {
+    return slowService.logic() + ":" + criticalService.logic();
+  }
+}
@@ -0,0 +1,20 @@
+package daggerok.apps.async;
+
+import javax.inject.Singleton;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+@Singleton
+public class SlowService {
+
+  public static volatile CountDownLatch gate = null;
+
+  public SlowService() throws InterruptedException {
+    final CountDownLatch latch = gate;
+    if (null != latch) latch.await(5, TimeUnit.SECONDS);
+  }
+
+  public String logic() {
+    return "slow";
+  }
+}
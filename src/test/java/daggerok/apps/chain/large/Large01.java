@@ -0,0 +1,6 @@
+package daggerok.apps.chain.large;
+
+import javax.inject.Singleton;
+
+@Singleton
+public class Large01 {}
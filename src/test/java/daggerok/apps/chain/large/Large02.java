@@ -0,0 +1,9 @@
+package daggerok.apps.chain.large;
+
+import javax.inject.Inject;
+
+public class Large02 {
+
+  @Inject
+  public Large02(final Large01 large01) {}
+}
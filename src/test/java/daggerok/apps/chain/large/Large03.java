@@ -0,0 +1,9 @@
+package daggerok.apps.chain.large;
+
+import javax.inject.Inject;
+
+public class Large03 {
+
+  @Inject
+  public Large03(final Large02 large02) {}
+}
@@ -0,0 +1,9 @@
+package daggerok.apps.chain.large;
+
+import javax.inject.Inject;
+
+public class Large04 {
+
+  @Inject
+  public Large04(final Large03 large03) {}
+}
@@ -0,0 +1,9 @@
+package daggerok.apps.chain.large;
+
+import javax.inject.Inject;
+
+public class Large05 {
+
+  @Inject
+  public Large05(final Large04 large04) {}
+}
@@ -0,0 +1,9 @@
+package daggerok.apps.chain.large;
+
+import javax.inject.Inject;
+
+public class Large06 {
+
+  @Inject
+  public Large06(final Large05 large05) {}
+}
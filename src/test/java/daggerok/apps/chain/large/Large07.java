@@ -0,0 +1,9 @@
+package daggerok.apps.chain.large;
+
+import javax.inject.Inject;
+
+public class Large07 {
+
+  @Inject
+  public Large07(final Large06 large06) {}
+}
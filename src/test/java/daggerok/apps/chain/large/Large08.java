@@ -0,0 +1,9 @@
+package daggerok.apps.chain.large;
+
+import javax.inject.Inject;
+
+public class Large08 {
+
+  @Inject
+  public Large08(final Large07 large07) {}
+}
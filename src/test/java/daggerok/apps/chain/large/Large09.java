@@ -0,0 +1,9 @@
+package daggerok.apps.chain.large;
+
+import javax.inject.Inject;
+
+public class Large09 {
+
+  @Inject
+  public Large09(final Large08 large08) {}
+}
@@ -0,0 +1,9 @@
+package daggerok.apps.chain.large;
+
+import javax.inject.Inject;
+
+public class Large10 {
+
+  @Inject
+  public Large10(final Large09 large09) {}
+}
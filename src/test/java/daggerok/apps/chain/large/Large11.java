@@ -0,0 +1,9 @@
+package daggerok.apps.chain.large;
+
+import javax.inject.Inject;
+
+public class Large11 {
+
+  @Inject
+  public Large11(final Large10 large10) {}
+}
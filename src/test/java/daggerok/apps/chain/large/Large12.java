@@ -0,0 +1,9 @@
+package daggerok.apps.chain.large;
+
+import javax.inject.Inject;
+
+public class Large12 {
+
+  @Inject
+  public Large12(final Large11 large11) {}
+}
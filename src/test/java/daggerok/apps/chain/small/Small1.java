@@ -0,0 +1,6 @@
+package daggerok.apps.chain.small;
+
+import javax.inject.Singleton;
+
+@Singleton
+public class Small1 {}
@@ -0,0 +1,9 @@
+package daggerok.apps.chain.small;
+
+import javax.inject.Inject;
+
+public class Small2 {
+
+  @Inject
+  public Small2(final Small1 small1) {}
+}
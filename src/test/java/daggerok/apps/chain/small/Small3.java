@@ -0,0 +1,9 @@
+package daggerok.apps.chain.small;
+
+import javax.inject.Inject;
+
+public class Small3 {
+
+  @Inject
+  public Small3(final Small2 small2) {}
+}
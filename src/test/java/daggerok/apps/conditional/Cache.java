@@ -0,0 +1,13 @@
+package daggerok.apps.conditional;
+
+import javax.inject.Inject;
+
+public class Cache {
+
+  public final MemoryStorage storage;
+
+  @Inject
+  public Cache(final MemoryStorage storage) {
+    this.storage = storage;
+  }
+}
@@ -0,0 +1,16 @@
+package daggerok.apps.conditional;
+
+import daggerok.context.Conditional;
+
+import javax.inject.Singleton;
+
+@Singleton
+@Conditional(property = DiskStorage.PROPERTY)
+public class DiskStorage implements Storage {
+
+  public static final String PROPERTY = "daggerok.apps.conditional.disk";
+
+  public String kind() {
+    return "disk";
+  }
+}
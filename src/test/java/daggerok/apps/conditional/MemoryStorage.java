@@ -0,0 +1,14 @@
+package daggerok.apps.conditional;
+
+import daggerok.context.Conditional;
+
+import javax.inject.Singleton;
+
+@Singleton
+@Conditional(onMissingBeans = DiskStorage.class)
+public class MemoryStorage implements Storage {
+
+  public String kind() {
+    return "memory";
+  }
+}
@@ -0,0 +1,17 @@
+package daggerok.apps.conditional;
+
+import daggerok.context.Conditional;
+
+import javax.inject.Singleton;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Singleton
+@Conditional(onClasses = "daggerok.apps.conditional.agent.MissingAgent")
+public class Metrics {
+
+  public static final AtomicInteger instances = new AtomicInteger();
+
+  public Metrics() {
+    instances.incrementAndGet();
+  }
+}
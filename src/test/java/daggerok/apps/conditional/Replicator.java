@@ -0,0 +1,16 @@
+package daggerok.apps.conditional;
+
+import daggerok.context.Conditional;
+
+import javax.inject.Inject;
+
+@Conditional(onBeans = DiskStorage.class)
+public class Replicator {
+
+  public final DiskStorage storage;
+
+  @Inject
+  public Replicator(final DiskStorage storage) {
+    this.storage = storage;
+  }
+}
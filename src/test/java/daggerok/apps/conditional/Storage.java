@@ -0,0 +1,5 @@
+package daggerok.apps.conditional;
+
+public interface Storage {
+  String kind();
+}
@@ -0,0 +1,30 @@
+package daggerok.apps.evictable;
+
+import daggerok.context.Evictable;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Singleton;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Singleton
+@Evictable
+public class BigIndex {
+
+  public static final AtomicInteger instances = new AtomicInteger();
+  public static final AtomicInteger destroyed = new AtomicInteger();
+
+  private final int[] index = new int[1024];
+
+  public BigIndex() {
+    instances.incrementAndGet();
+  }
+
+  public int size() {
+    return index.length;
+  }
+
+  @PreDestroy
+  public void destroy() {
+    destroyed.incrementAndGet();
+  }
+}
@@ -0,0 +1,17 @@
+package daggerok.apps.evictable;
+
+import daggerok.context.Evictable;
+
+import javax.inject.Singleton;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Singleton
+@Evictable
+public class BigTable {
+
+  public static final AtomicInteger instances = new AtomicInteger();
+
+  public BigTable() {
+    instances.incrementAndGet();
+  }
+}
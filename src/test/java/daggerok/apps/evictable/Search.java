@@ -0,0 +1,18 @@
+package daggerok.apps.evictable;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+
+public class Search {
+
+  private final Provider<BigIndex> index;
+
+  @Inject
+  public Search(final Provider<BigIndex> index) {
+    this.index = index;
+  }
+
+  public BigIndex index() {
+    return index.get();
+  }
+}
@@ -0,0 +1,15 @@
+package daggerok.apps.extension;
+
+import daggerok.apps.host.Host;
+
+import javax.inject.Inject;
+
+public class Extension {
+
+  public final Host host;
+
+  @Inject
+  public Extension(final Host host) {
+    this.host = host;
+  }
+}
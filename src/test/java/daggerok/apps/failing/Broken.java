@@ -0,0 +1,15 @@
+package daggerok.apps.failing;
+
+import javax.inject.Singleton;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Singleton
+public class Broken {
+
+  public static final AtomicInteger attempts = new AtomicInteger();
+
+  public Broken() {
+    attempts.incrementAndGet();
+    throw new IllegalStateException("broken");
+  }
+}
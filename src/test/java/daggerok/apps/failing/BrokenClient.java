@@ -0,0 +1,9 @@
+package daggerok.apps.failing;
+
+import javax.inject.Inject;
+
+public class BrokenClient {
+
+  @Inject
+  public BrokenClient(final Broken broken) { }
+}
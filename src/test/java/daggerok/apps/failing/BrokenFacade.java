@@ -0,0 +1,9 @@
+package daggerok.apps.failing;
+
+import javax.inject.Inject;
+
+public class BrokenFacade {
+
+  @Inject
+  public BrokenFacade(final BrokenClient client) { }
+}
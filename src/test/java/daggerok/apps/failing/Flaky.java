@@ -0,0 +1,13 @@
+package daggerok.apps.failing;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class Flaky {
+
+  public static final AtomicInteger attempts = new AtomicInteger();
+
+  public Flaky() {
+    attempts.incrementAndGet();
+    throw new UnsupportedOperationException("flaky");
+  }
+}
@@ -0,0 +1,9 @@
+package daggerok.apps.failing;
+
+import javax.inject.Inject;
+
+public class FlakyClient {
+
+  @Inject
+  public FlakyClient(final Flaky flaky) { }
+}
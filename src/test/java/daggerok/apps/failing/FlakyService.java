@@ -0,0 +1,9 @@
+package daggerok.apps.failing;
+
+import javax.inject.Inject;
+
+public class FlakyService {
+
+  @Inject
+  public FlakyService(final Flaky flaky) { }
+}
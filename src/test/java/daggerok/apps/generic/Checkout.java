@@ -0,0 +1,19 @@
+package daggerok.apps.generic;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+
+public class Checkout {
+
+  public final Repository<User> users;
+  public final Repository<Order> orders;
+  public final Provider<Repository<Order>> ordersProvider;
+
+  @Inject
+  public Checkout(final Repository<User> users, final Repository<Order> orders,
+                  final Provider<Repository<Order>> ordersProvider) {
+    this.users = users;
+    this.orders = orders;
+    this.ordersProvider = ordersProvider;
+  }
+}
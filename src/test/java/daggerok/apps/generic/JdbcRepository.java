@@ -0,0 +1,14 @@
+package daggerok.apps.generic;
+
+public abstract class JdbcRepository<T> implements Repository<T> {
+
+  private final String table;
+
+  protected JdbcRepository(final String table) {
+    this.table = table;
+  }
+
+  public String entity() {
+    return table;
+  }
+}
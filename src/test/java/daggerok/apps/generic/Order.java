@@ -0,0 +1,3 @@
+package daggerok.apps.generic;
+
+public class Order {}
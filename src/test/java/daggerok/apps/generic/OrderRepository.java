@@ -0,0 +1,11 @@
+package daggerok.apps.generic;
+
+import javax.inject.Singleton;
+
+@Singleton
+public class OrderRepository implements Repository<Order> {
+
+  public String entity() {
+    return "orders";
+  }
+}
@@ -0,0 +1,5 @@
+package daggerok.apps.generic;
+
+public interface Repository<T> {
+  String entity();
+}
@@ -0,0 +1,11 @@
+package daggerok.apps.generic;
+
+import javax.inject.Singleton;
+
+@Singleton
+public class UserRepository extends JdbcRepository<User> {
+
+  public UserRepository() {
+    super("users");
+  }
+}
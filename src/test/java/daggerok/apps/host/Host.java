@@ -0,0 +1,14 @@
+package daggerok.apps.host;
+
+import javax.inject.Singleton;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Singleton
+public class Host {
+
+  public static final AtomicInteger instances = new AtomicInteger();
+
+  public Host() {
+    instances.incrementAndGet();
+  }
+}
@@ -0,0 +1,6 @@
+package daggerok.apps.host;
+
+public interface HostApi {
+
+  String name();
+}
@@ -0,0 +1,15 @@
+package daggerok.apps.host;
+
+import javax.inject.Inject;
+
+public class HostService {
+
+  public final Host host;
+  public final HostApi api;
+
+  @Inject
+  public HostService(final Host host, final HostApi api) {
+    this.host = host;
+    this.api = api;
+  }
+}
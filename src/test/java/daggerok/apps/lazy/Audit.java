@@ -0,0 +1,5 @@
+package daggerok.apps.lazy;
+
+public interface Audit {
+  String audit(String action);
+}
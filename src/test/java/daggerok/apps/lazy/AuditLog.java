@@ -0,0 +1,21 @@
+package daggerok.apps.lazy;
+
+import javax.inject.Inject;
+
+public class AuditLog implements Audit {
+
+  private final Dashboard dashboard;
+
+  @Inject
+  public AuditLog(final Dashboard dashboard) {
+    this.dashboard = dashboard;
+  }
+
+  public String audit(final String action) {
+    return action + " on " + dashboard.getClass().getSimpleName();
+  }
+
+  public Dashboard getDashboard() {
+    return dashboard;
+  }
+}
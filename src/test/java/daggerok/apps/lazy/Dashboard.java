@@ -0,0 +1,25 @@
+package daggerok.apps.lazy;
+
+import daggerok.context.Lazy;
+
+import javax.inject.Inject;
+
+public class Dashboard {
+
+  private final Reports reports;
+  private final Audit audit;
+
+  @Inject
+  public Dashboard(@Lazy final Reports reports, @Lazy final Audit audit) {
+    this.reports = reports;
+    this.audit = audit;
+  }
+
+  public String show() {
+    return audit.audit(reports.report());
+  }
+
+  public Audit getAudit() {
+    return audit;
+  }
+}
@@ -0,0 +1,18 @@
+package daggerok.apps.lazy;
+
+import javax.inject.Singleton;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Singleton
+public class HeavyReports implements Reports {
+
+  public static final AtomicInteger instances = new AtomicInteger();
+
+  public HeavyReports() {
+    instances.incrementAndGet();
+  }
+
+  public String report() {
+    return "report";
+  }
+}
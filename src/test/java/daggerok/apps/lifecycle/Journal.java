@@ -0,0 +1,26 @@
+package daggerok.apps.lifecycle;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+@Singleton
+public class Journal {
+
+  private final List<String> events = Collections.synchronizedList(new ArrayList<String>());
+
+  public void add(final String event) {
+    events.add(event);
+  }
+
+  public List<String> events() {
+    return events;
+  }
+
+  @PreDestroy
+  public void stop() {
+    events.add("journal:stop");
+  }
+}
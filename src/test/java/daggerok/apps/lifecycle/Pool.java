@@ -0,0 +1,25 @@
+package daggerok.apps.lifecycle;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+
+public class Pool {
+
+  private final Journal journal;
+
+  @Inject
+  public Pool(final Journal journal) {
+    this.journal = journal;
+  }
+
+  @PostConstruct
+  void start() {
+    journal.add("pool:start");
+  }
+
+  @PreDestroy
+  void stop() {
+    journal.add("pool:stop");
+  }
+}
@@ -0,0 +1,21 @@
+package daggerok.apps.lifecycle;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+
+public class Service {
+
+  private final Pool pool;
+  private final Journal journal;
+
+  @Inject
+  public Service(final Pool pool, final Journal journal) {
+    this.pool = pool;
+    this.journal = journal;
+  }
+
+  @PreDestroy
+  public void stop() {
+    journal.add("service:stop");
+  }
+}
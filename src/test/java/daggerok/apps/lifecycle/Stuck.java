@@ -0,0 +1,13 @@
+package daggerok.apps.lifecycle;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Singleton;
+
+@Singleton
+public class Stuck {
+
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    Thread.sleep(10000);
+  }
+}
@@ -0,0 +1,19 @@
+package daggerok.apps.overriding;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Singleton;
+
+@Singleton
+public class FileResource extends Resource {
+
+  @Override
+  @PostConstruct
+  public void open() {
+    events.add("file:open");
+  }
+
+  @Override
+  public void close() { // not a callback anymore
+    events.add("file:close");
+  }
+}
@@ -0,0 +1,26 @@
+package daggerok.apps.overriding;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public abstract class Resource {
+
+  public final List<String> events = new CopyOnWriteArrayList<String>();
+
+  @PostConstruct
+  public void init() {
+    events.add("resource:init");
+  }
+
+  @PostConstruct
+  public void open() {
+    events.add("resource:open");
+  }
+
+  @PreDestroy
+  public void close() {
+    events.add("resource:close");
+  }
+}
@@ -0,0 +1,14 @@
+package daggerok.apps.profiles;
+
+import daggerok.context.Profile;
+
+import javax.inject.Singleton;
+
+@Singleton
+@Profile("!prod")
+public class InMemoryRepository implements Repository {
+
+  public String name() {
+    return "in-memory";
+  }
+}
@@ -0,0 +1,21 @@
+package daggerok.apps.profiles;
+
+import daggerok.context.Profile;
+
+import javax.inject.Singleton;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Singleton
+@Profile({ "prod", "staging" })
+public class JdbcRepository implements Repository {
+
+  public static final AtomicInteger instances = new AtomicInteger();
+
+  public JdbcRepository() {
+    instances.incrementAndGet();
+  }
+
+  public String name() {
+    return "jdbc";
+  }
+}
@@ -0,0 +1,13 @@
+package daggerok.apps.profiles;
+
+import javax.inject.Inject;
+
+public class Reports {
+
+  public final JdbcRepository repository;
+
+  @Inject
+  public Reports(final JdbcRepository repository) {
+    this.repository = repository;
+  }
+}
@@ -0,0 +1,5 @@
+package daggerok.apps.profiles;
+
+public interface Repository {
+  String name();
+}
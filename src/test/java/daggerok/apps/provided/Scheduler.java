@@ -0,0 +1,14 @@
+package daggerok.apps.provided;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+
+public class Scheduler {
+
+  public final Provider<Timer> timer;
+
+  @Inject
+  public Scheduler(final Provider<Timer> timer) {
+    this.timer = timer;
+  }
+}
@@ -0,0 +1,11 @@
+package daggerok.apps.provided;
+
+import javax.inject.Singleton;
+
+@Singleton
+public class SystemTimer implements Timer {
+
+  public long now() {
+    return System.currentTimeMillis();
+  }
+}
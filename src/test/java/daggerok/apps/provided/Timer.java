@@ -0,0 +1,5 @@
+package daggerok.apps.provided;
+
+public interface Timer {
+  long now();
+}
@@ -0,0 +1,7 @@
+package daggerok.apps.reload;
+
+import javax.inject.Singleton;
+
+@Singleton
+public class Clock {
+}
@@ -0,0 +1,6 @@
+package daggerok.apps.reload;
+
+public interface Greeter {
+
+  String greet();
+}
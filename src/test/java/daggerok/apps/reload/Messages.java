@@ -0,0 +1,11 @@
+package daggerok.apps.reload;
+
+import javax.inject.Singleton;
+
+@Singleton
+public class Messages implements Greeter {
+
+  public String greet() {
+    return "hello";
+  }
+}
@@ -0,0 +1,17 @@
+package daggerok.apps.reload;
+
+import javax.inject.Inject;
+
+public class Welcome implements Greeter {
+
+  private final Messages messages;
+
+  @Inject
+  public Welcome(final Messages messages) {
+    this.messages = messages;
+  }
+
+  public String greet() {
+    return messages.greet() + ", world";
+  }
+}
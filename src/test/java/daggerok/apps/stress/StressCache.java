@@ -0,0 +1,19 @@
+package daggerok.apps.stress;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Singleton
+public class StressCache {
+
+  public static final AtomicInteger instances = new AtomicInteger();
+
+  public final StressConfig config;
+
+  @Inject
+  public StressCache(final StressConfig config) {
+    instances.incrementAndGet();
+    this.config = config;
+  }
+}
@@ -0,0 +1,17 @@
+package daggerok.apps.stress;
+
+import javax.inject.Singleton;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Singleton
+public class StressConfig {
+
+  public static final AtomicInteger instances = new AtomicInteger();
+
+  public final String name;
+
+  public StressConfig() {
+    instances.incrementAndGet();
+    name = "stress";
+  }
+}
@@ -0,0 +1,23 @@
+package daggerok.apps.stress;
+
+import javax.inject.Inject;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class StressFacade {
+
+  public static final AtomicInteger instances = new AtomicInteger();
+
+  public final StressService service;
+  public final StressConfig config;
+
+  @Inject
+  public StressFacade(final StressService service, final StressConfig config) {
+    instances.incrementAndGet();
+    this.service = service;
+    this.config = config;
+  }
+
+  public String logic() {
+    return service.repository.config.name + ":" + service.cache.config.name + ":" + config.name;
+  }
+}
@@ -0,0 +1,17 @@
+package daggerok.apps.stress;
+
+import javax.inject.Inject;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class StressRepository {
+
+  public static final AtomicInteger instances = new AtomicInteger();
+
+  public final StressConfig config;
+
+  @Inject
+  public StressRepository(final StressConfig config) {
+    instances.incrementAndGet();
+    this.config = config;
+  }
+}
@@ -0,0 +1,19 @@
+package daggerok.apps.stress;
+
+import javax.inject.Inject;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class StressService {
+
+  public static final AtomicInteger instances = new AtomicInteger();
+
+  public final StressRepository repository;
+  public final StressCache cache;
+
+  @Inject
+  public StressService(final StressRepository repository, final StressCache cache) {
+    instances.incrementAndGet();
+    this.repository = repository;
+    this.cache = cache;
+  }
+}
@@ -0,0 +1,75 @@
+package daggerok.context;
+
+import daggerok.apps.app.MyService;
+import org.junit.Test;
+
+import java.io.File;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+public class StartupEventsTest {
+
+  @Test
+  public void none_events_test() {
+    StartupEvents.NONE.scan("my.app", Object.class).commit();
+    StartupEvents.NONE.resolution(1).commit();
+    StartupEvents.NONE.construction(Object.class, 0).commit();
+  }
+
+  @Test
+  public void jfr_events_test() throws Exception {
+
+    assumeTrue(jfrAvailable());
+    assertThat(StartupEvents.jfr()).isNotSameAs(StartupEvents.NONE);
+
+    final Class<?> recordingType = Class.forName("jdk.jfr.Recording");
+    final Object recording = recordingType.newInstance();
+    final Method enable = recordingType.getMethod("enable", String.class);
+    for (final String name : new String[] {
+        "daggerok.ComponentsScan", "daggerok.GraphResolution", "daggerok.BeanConstruction" }) {
+      enable.invoke(recording, name);
+    }
+
+    recordingType.getMethod("start").invoke(recording);
+    DaggerokContext.create(MyService.class).withScanCache(false).initialize();
+    recordingType.getMethod("stop").invoke(recording);
+
+    final File file = File.createTempFile("daggerok-startup", ".jfr");
+    file.deleteOnExit();
+    final Class<?> pathType = Class.forName("java.nio.file.Path");
+    final Object path = File.class.getMethod("toPath").invoke(file);
+    recordingType.getMethod("dump", pathType).invoke(recording, path);
+    recordingType.getMethod("close").invoke(recording);
+
+    final List<?> events = (List<?>) Class.forName("jdk.jfr.consumer.RecordingFile")
+                                          .getMethod("readAllEvents", pathType)
+                                          .invoke(null, path);
+    final List<String> names = new ArrayList<String>();
+    final List<String> beanTypes = new ArrayList<String>();
+    for (final Object event : events) {
+      final Object eventType = event.getClass().getMethod("getEventType").invoke(event);
+      final String name = (String) eventType.getClass().getMethod("getName").invoke(eventType);
+      names.add(name);
+      if (!"daggerok.BeanConstruction".equals(name)) continue;
+      final Object beanType = event.getClass().getMethod("getClass", String.class).invoke(event, "beanType");
+      beanTypes.add((String) beanType.getClass().getMethod("getName").invoke(beanType));
+    }
+
+    assertThat(names).contains("daggerok.ComponentsScan", "daggerok.GraphResolution", "daggerok.BeanConstruction");
+    assertThat(beanTypes).contains(MyService.class.getName());
+  }
+
+  private static boolean jfrAvailable() {
+    try {
+      Class.forName("jdk.jfr.EventFactory");
+      return true;
+    }
+    catch (final ClassNotFoundException e) {
+      return false;
+    }
+  }
+}